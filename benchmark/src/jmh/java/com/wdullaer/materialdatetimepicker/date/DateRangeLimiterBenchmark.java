@@ -0,0 +1,107 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Calendar;
+
+/**
+ * Benchmarks for DefaultDateRangeLimiter, using configurations which mimic real world usage
+ * - none: no restrictions besides the default year range
+ * - disabled: ~3000 disabled days (every weekend and a 2 year blackout), with a min and max date
+ * - selectable: ~800 selectable days (every other weekday over 3 years)
+ */
+@State(Scope.Benchmark)
+public class DateRangeLimiterBenchmark {
+    private static final int START_YEAR = 2018;
+
+    @Param({"none", "disabled", "selectable"})
+    public String configuration;
+
+    private DefaultDateRangeLimiter limiter;
+    private Calendar blackoutDay;
+    private Calendar unrestrictedDay;
+
+    private static Calendar day(int year, int month, int day) {
+        Calendar output = Calendar.getInstance();
+        output.set(year, month, day);
+        return output;
+    }
+
+    private static Calendar[] days(int start, int end, int step, boolean weekendsOnly) {
+        Calendar current = day(START_YEAR, Calendar.JANUARY, 1);
+        current.add(Calendar.DAY_OF_MONTH, start);
+        Calendar[] buffer = new Calendar[end - start];
+        int count = 0;
+        for (int i = start; i < end; i += step) {
+            int dayOfWeek = current.get(Calendar.DAY_OF_WEEK);
+            boolean weekend = dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY;
+            if (!weekendsOnly || weekend) buffer[count++] = (Calendar) current.clone();
+            current.add(Calendar.DAY_OF_MONTH, step);
+        }
+        Calendar[] output = new Calendar[count];
+        System.arraycopy(buffer, 0, output, 0, count);
+        return output;
+    }
+
+    @Setup
+    public void setUp() {
+        limiter = new DefaultDateRangeLimiter();
+        switch (configuration) {
+            case "disabled":
+                limiter.setMinDate(day(START_YEAR - 10, Calendar.JANUARY, 1));
+                limiter.setMaxDate(day(START_YEAR + 20, Calendar.DECEMBER, 31));
+                limiter.setDisabledDays(days(0, 365 * 20, 1, true));
+                limiter.setDisabledDays(days(365 * 3, 365 * 5, 1, false));
+                break;
+            case "selectable":
+                limiter.setSelectableDays(days(0, 365 * 3, 2, false));
+                break;
+            default:
+                break;
+        }
+        blackoutDay = day(START_YEAR + 4, Calendar.JUNE, 15);
+        unrestrictedDay = day(START_YEAR + 1, Calendar.MARCH, 4);
+    }
+
+    /**
+     * Mimics rendering a month: isOutOfRange is called for every day
+     */
+    @Benchmark
+    public void isOutOfRangeMonth(Blackhole blackhole) {
+        for (int day = 1; day <= 31; day++) {
+            blackhole.consume(limiter.isOutOfRange(START_YEAR + 1, Calendar.MARCH, day));
+        }
+    }
+
+    /**
+     * Mimics scrolling through a year of months
+     */
+    @Benchmark
+    public void isOutOfRangeYear(Blackhole blackhole) {
+        for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+            for (int day = 1; day <= 31; day++) {
+                blackhole.consume(limiter.isOutOfRange(START_YEAR + 4, month, day));
+            }
+        }
+    }
+
+    @Benchmark
+    public Calendar setToNearestDateInBlackout() {
+        return limiter.setToNearestDate((Calendar) blackoutDay.clone());
+    }
+
+    @Benchmark
+    public Calendar setToNearestDate() {
+        return limiter.setToNearestDate((Calendar) unrestrictedDay.clone());
+    }
+
+    @Benchmark
+    public Calendar getStartDate() {
+        return limiter.getStartDate();
+    }
+}
@@ -0,0 +1,91 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Benchmarks for the per event cost of mapping a touch on the radial dial to an angle
+ * - asin: the square root and arc sine RadialSelectorView used to calculate
+ * - table: the lookup tables of RadialMath, with squared distances for the hit test
+ * Every invocation maps a batch of points spread over a 1080px dial, like a drag gesture would.
+ */
+@State(Scope.Benchmark)
+public class RadialMathBenchmark {
+    private static final int EVENTS = 1024;
+    private static final float RADIUS = 540;
+
+    private final float[] dx = new float[EVENTS];
+    private final float[] dy = new float[EVENTS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < EVENTS; i++) {
+            dx[i] = (random.nextFloat() * 2 - 1) * RADIUS;
+            dy[i] = (random.nextFloat() * 2 - 1) * RADIUS;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void asin(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS; i++) {
+            double hypotenuse = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+            if (hypotenuse > RADIUS) {
+                blackhole.consume(-1);
+                continue;
+            }
+            int degrees = (int) (Math.asin(Math.abs(dy[i]) / hypotenuse) * 180 / Math.PI);
+            boolean rightSide = dx[i] > 0;
+            boolean topSide = dy[i] < 0;
+            if (rightSide && topSide) degrees = 90 - degrees;
+            else if (rightSide) degrees = 90 + degrees;
+            else if (!topSide) degrees = 270 - degrees;
+            else degrees = 270 + degrees;
+            blackhole.consume(degrees);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void table(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS; i++) {
+            float squaredHypotenuse = dx[i] * dx[i] + dy[i] * dy[i];
+            if (squaredHypotenuse > RADIUS * RADIUS) {
+                blackhole.consume(-1);
+                continue;
+            }
+            blackhole.consume(RadialMath.getDegrees(dx[i], dy[i]));
+        }
+    }
+
+    /**
+     * Mimics drawing the selector: a point on the dial for every selectable degree
+     */
+    @Benchmark
+    @OperationsPerInvocation(360)
+    public void drawSinCos(Blackhole blackhole) {
+        int lineLength = (int) (RADIUS * 0.8f);
+        for (int degrees = 0; degrees < 360; degrees++) {
+            double radians = degrees * Math.PI / 180;
+            blackhole.consume((int) (lineLength * Math.sin(radians)));
+            blackhole.consume((int) (lineLength * Math.cos(radians)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(360)
+    public void drawTable(Blackhole blackhole) {
+        int lineLength = (int) (RADIUS * 0.8f);
+        for (int degrees = 0; degrees < 360; degrees++) {
+            blackhole.consume(RadialMath.scale(lineLength, RadialMath.sin(degrees)));
+            blackhole.consume(RadialMath.scale(lineLength, RadialMath.cos(degrees)));
+        }
+    }
+}
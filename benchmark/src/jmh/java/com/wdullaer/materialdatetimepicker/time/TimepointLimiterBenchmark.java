@@ -0,0 +1,93 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.HOUR_INDEX;
+import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.MINUTE_INDEX;
+import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.SECOND_INDEX;
+
+/**
+ * Benchmarks for DefaultTimepointLimiter, using configurations which mimic real world usage
+ * - none: no restrictions
+ * - disabled: every minute of the morning disabled at second resolution, and 9:00 - 17:00 disabled
+ *   completely
+ * - selectable: a dense set of selectable times (every 15 seconds during office hours)
+ */
+@State(Scope.Benchmark)
+public class TimepointLimiterBenchmark {
+    @Param({"none", "disabled", "selectable"})
+    public String configuration;
+
+    private DefaultTimepointLimiter limiter;
+    private Timepoint[] hourDial;
+    private Timepoint[] dial;
+    private Timepoint disabledTime;
+
+    @Setup
+    public void setUp() {
+        limiter = new DefaultTimepointLimiter();
+        switch (configuration) {
+            case "disabled":
+                Timepoint[] disabled = new Timepoint[9 * 60 + 8 * 3600];
+                int count = 0;
+                for (int minute = 0; minute < 9 * 60; minute++) {
+                    disabled[count++] = new Timepoint(minute / 60, minute % 60, 0);
+                }
+                for (int second = 9 * 3600; second < 17 * 3600; second++) {
+                    disabled[count++] = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+                }
+                limiter.setDisabledTimes(disabled);
+                break;
+            case "selectable":
+                Timepoint[] selectable = new Timepoint[8 * 3600 / 15];
+                for (int i = 0; i < selectable.length; i++) {
+                    int second = 9 * 3600 + i * 15;
+                    selectable[i] = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+                }
+                limiter.setSelectableTimes(selectable);
+                break;
+            default:
+                break;
+        }
+        hourDial = new Timepoint[24];
+        for (int i = 0; i < hourDial.length; i++) hourDial[i] = new Timepoint(i, 0, 0);
+        dial = new Timepoint[60];
+        for (int i = 0; i < dial.length; i++) dial[i] = new Timepoint(12, i, 0);
+        disabledTime = new Timepoint(13, 0, 0);
+    }
+
+    /**
+     * Mimics rendering the dials: isOutOfRange is called for every visible value
+     */
+    @Benchmark
+    public void isOutOfRangeDial(Blackhole blackhole) {
+        for (Timepoint time : hourDial) {
+            blackhole.consume(limiter.isOutOfRange(time, HOUR_INDEX, Timepoint.TYPE.SECOND));
+        }
+        for (Timepoint time : dial) {
+            blackhole.consume(limiter.isOutOfRange(time, MINUTE_INDEX, Timepoint.TYPE.SECOND));
+            blackhole.consume(limiter.isOutOfRange(time, SECOND_INDEX, Timepoint.TYPE.SECOND));
+        }
+    }
+
+    /**
+     * Mimics a touch event on the second dial in the middle of a disabled block
+     */
+    @Benchmark
+    public Timepoint roundToNearestSecond() {
+        return limiter.roundToNearest(disabledTime, null, Timepoint.TYPE.SECOND);
+    }
+
+    /**
+     * Mimics a touch event on the minute dial in the middle of a disabled block
+     */
+    @Benchmark
+    public Timepoint roundToNearestMinute() {
+        return limiter.roundToNearest(disabledTime, Timepoint.TYPE.MINUTE, Timepoint.TYPE.SECOND);
+    }
+}
@@ -0,0 +1,90 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.graphics.Color;
+import android.graphics.Picture;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the cache of recorded MonthViews, which need android.graphics.Picture
+ */
+@RunWith(AndroidJUnit4.class)
+public class MonthRenderCacheTest {
+    private static final int[] STATE = {0, 0, MonthView.DAY_STATE_TODAY, 0};
+
+    @Test
+    public void getShouldOnlyReturnRecordingsWithTheSameKey() {
+        MonthRenderCache cache = new MonthRenderCache();
+        Picture picture = new Picture();
+        cache.put(2020, Calendar.MAY, 1080, 12, STATE, picture);
+
+        assertSame(picture, cache.get(2020, Calendar.MAY, 1080, 12, STATE));
+        assertNull(cache.get(2020, Calendar.MAY, 1080, 13, STATE));
+        assertNull(cache.get(2020, Calendar.MAY, 720, 12, STATE));
+        assertNull(cache.get(2020, Calendar.JUNE, 1080, 12, STATE));
+        assertNull(cache.get(2021, Calendar.MAY, 1080, 12, STATE));
+    }
+
+    @Test
+    public void getShouldOnlyReturnRecordingsOfTheSameState() {
+        MonthRenderCache cache = new MonthRenderCache();
+        Picture picture = new Picture();
+        int[] state = STATE.clone();
+        cache.put(2020, Calendar.MAY, 1080, 12, state, picture);
+        // The cache keeps its own copy of the state
+        state[0] = MonthView.DAY_STATE_DISABLED;
+
+        assertSame(picture, cache.get(2020, Calendar.MAY, 1080, 12, STATE));
+        assertNull(cache.get(2020, Calendar.MAY, 1080, 12, state));
+        assertNull(cache.get(2020, Calendar.MAY, 1080, 12, new int[]{0, 0, 0, 0}));
+        assertNull(cache.get(2020, Calendar.MAY, 1080, 12, new int[]{0, 0, MonthView.DAY_STATE_TODAY, 0, Color.RED}));
+    }
+
+    @Test
+    public void getShouldTellApartStatesWithTheSameHash() {
+        MonthRenderCache cache = new MonthRenderCache();
+        Picture picture = new Picture();
+        // An enabled day highlighted in category 5, and a disabled day highlighted in category 0
+        cache.put(2020, Calendar.MAY, 1080, -1, new int[]{MonthView.DAY_STATE_HIGHLIGHTED, 1 << 5}, picture);
+
+        assertNull(cache.get(2020, Calendar.MAY, 1080, -1,
+                new int[]{MonthView.DAY_STATE_DISABLED | MonthView.DAY_STATE_HIGHLIGHTED, 1}));
+    }
+
+    @Test
+    public void monthsWithoutASelectionShouldShareARecording() {
+        MonthRenderCache cache = new MonthRenderCache();
+        Picture picture = new Picture();
+        cache.put(2020, Calendar.MAY, 1080, -1, STATE, picture);
+
+        assertSame(picture, cache.get(2020, Calendar.MAY, 1080, 0, STATE));
+    }
+
+    @Test
+    public void putShouldEvictTheLeastRecentlyUsedRecording() {
+        MonthRenderCache cache = new MonthRenderCache(2);
+        cache.put(2020, Calendar.JANUARY, 1080, -1, STATE, new Picture());
+        cache.put(2020, Calendar.FEBRUARY, 1080, -1, STATE, new Picture());
+        cache.get(2020, Calendar.JANUARY, 1080, -1, STATE);
+        cache.put(2020, Calendar.MARCH, 1080, -1, STATE, new Picture());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(2020, Calendar.JANUARY, 1080, -1, STATE));
+        assertNull(cache.get(2020, Calendar.FEBRUARY, 1080, -1, STATE));
+    }
+
+    @Test
+    public void clearShouldRemoveAllRecordings() {
+        MonthRenderCache cache = new MonthRenderCache();
+        cache.put(2020, Calendar.JANUARY, 1080, -1, STATE, new Picture());
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+}
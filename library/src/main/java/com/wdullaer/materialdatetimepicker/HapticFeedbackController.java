@@ -5,17 +5,35 @@ import android.content.Context;
 import android.content.pm.PackageManager;
 import android.database.ContentObserver;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.SystemClock;
 import android.os.Vibrator;
 import android.provider.Settings;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * A simple utility class to handle haptic feedback.
+ * Talking to the Vibrator and the settings provider are binder calls, so they all happen on a
+ * background thread shared by all controllers. The calling thread only decides whether a tick is due.
  */
 public class HapticFeedbackController {
     private static final int VIBRATE_DELAY_MS = 125;
     private static final int VIBRATE_LENGTH_MS = 50;
 
+    private static Handler sHandler;
+
+    private static synchronized Handler getHandler() {
+        if (sHandler == null) {
+            HandlerThread thread = new HandlerThread("HapticFeedbackController");
+            thread.setDaemon(true);
+            thread.start();
+            sHandler = new Handler(thread.getLooper());
+        }
+        return sHandler;
+    }
+
     private static boolean checkGlobalSetting(Context context) {
         return Settings.System.getInt(context.getContentResolver(),
                 Settings.System.HAPTIC_FEEDBACK_ENABLED, 0) == 1;
@@ -24,10 +42,20 @@ public class HapticFeedbackController {
     private final Context mContext;
     private final ContentObserver mContentObserver;
 
-    private Vibrator mVibrator;
-    private boolean mIsGloballyEnabled;
+    // Written on the haptics thread, read on the calling thread
+    private volatile Vibrator mVibrator;
+    private volatile boolean mIsGloballyEnabled;
+    private volatile boolean mStarted;
     private long mLastVibrate;
 
+    // Ticks are all the same, so at most one is waiting to be played: the latest tick wins
+    private final AtomicBoolean mTickPending = new AtomicBoolean(false);
+    private final Runnable mVibrate = () -> {
+        mTickPending.set(false);
+        Vibrator vibrator = mVibrator;
+        if (mStarted && vibrator != null) vibrator.vibrate(VIBRATE_LENGTH_MS);
+    };
+
     public HapticFeedbackController(Context context) {
         mContext = context;
         mContentObserver = new ContentObserver(null) {
@@ -42,14 +70,17 @@ public class HapticFeedbackController {
      * Call to setup the controller.
      */
     public void start() {
-        if (hasVibratePermission(mContext)) {
-            mVibrator = (Vibrator) mContext.getSystemService(Service.VIBRATOR_SERVICE);
-        }
+        mStarted = true;
+        getHandler().post(() -> {
+            if (hasVibratePermission(mContext)) {
+                mVibrator = (Vibrator) mContext.getSystemService(Service.VIBRATOR_SERVICE);
+            }
 
-        // Setup a listener for changes in haptic feedback settings
-        mIsGloballyEnabled = checkGlobalSetting(mContext);
-        Uri uri = Settings.System.getUriFor(Settings.System.HAPTIC_FEEDBACK_ENABLED);
-        mContext.getContentResolver().registerContentObserver(uri, false, mContentObserver);
+            // Setup a listener for changes in haptic feedback settings
+            mIsGloballyEnabled = checkGlobalSetting(mContext);
+            Uri uri = Settings.System.getUriFor(Settings.System.HAPTIC_FEEDBACK_ENABLED);
+            mContext.getContentResolver().registerContentObserver(uri, false, mContentObserver);
+        });
     }
 
     /**
@@ -68,8 +99,11 @@ public class HapticFeedbackController {
      * Call this when you don't need the controller anymore.
      */
     public void stop() {
-        mVibrator = null;
-        mContext.getContentResolver().unregisterContentObserver(mContentObserver);
+        mStarted = false;
+        getHandler().post(() -> {
+            mVibrator = null;
+            mContext.getContentResolver().unregisterContentObserver(mContentObserver);
+        });
     }
 
     /**
@@ -77,11 +111,11 @@ public class HapticFeedbackController {
      * happen if we have vibrated very recently.
      */
     public void tryVibrate() {
-        if (mVibrator != null && mIsGloballyEnabled) {
+        if (mStarted && mVibrator != null && mIsGloballyEnabled) {
             long now = SystemClock.uptimeMillis();
             // We want to try to vibrate each individual tick discretely.
             if (now - mLastVibrate >= VIBRATE_DELAY_MS) {
-                mVibrator.vibrate(VIBRATE_LENGTH_MS);
+                if (mTickPending.compareAndSet(false, true)) getHandler().post(mVibrate);
                 mLastVibrate = now;
             }
         }
@@ -0,0 +1,107 @@
+package com.wdullaer.materialdatetimepicker;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.TypedValue;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayDeque;
+
+/**
+ * Inflates the layout of a picker and resolves the resources it needs while the main thread is idle
+ * Every step runs in its own idle callback, so prewarming never causes a long frame. The inflated
+ * layout is handed out once, to the next onCreateView for the same Activity, as long as the
+ * configuration didn't change in between.
+ * All methods must be called from the main thread.
+ * This is an implementation detail of the pickers, it is not part of the API of the library.
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class LayoutPrewarmer implements MessageQueue.IdleHandler {
+    private final ArrayDeque<Runnable> mTasks = new ArrayDeque<>();
+    private boolean mScheduled = false;
+
+    private Context mContext;
+    private int mLayoutRes;
+    private Configuration mConfiguration;
+    private View mView;
+
+    /**
+     * Runs the given task the next time the main thread is idle, after the tasks posted before it
+     * @param task the work to run
+     */
+    public void post(@NonNull Runnable task) {
+        mTasks.add(task);
+        if (!mScheduled) {
+            mScheduled = true;
+            Looper.myQueue().addIdleHandler(this);
+        }
+    }
+
+    /**
+     * Inflates a layout the next time the main thread is idle, replacing a previously inflated one
+     * The layout is inflated with the dialog theme of the context, like a DialogFragment would.
+     * @param context the Activity that will show the layout
+     * @param layoutRes the layout to inflate
+     */
+    public void inflate(@NonNull Context context, @LayoutRes int layoutRes) {
+        mView = null;
+        post(() -> {
+            mView = LayoutInflater.from(getDialogContext(context)).inflate(layoutRes, null, false);
+            mContext = context;
+            mLayoutRes = layoutRes;
+            mConfiguration = new Configuration(context.getResources().getConfiguration());
+        });
+    }
+
+    /**
+     * Returns the prewarmed layout if it matches the layout onCreateView is about to inflate
+     * The layout is only returned once. A layout that doesn't match is dropped, and work that is
+     * still pending is cancelled, so it doesn't keep the Activity alive.
+     * @param context the Activity that shows the layout
+     * @param layoutRes the layout onCreateView needs
+     * @param container the container passed to onCreateView
+     * @return the inflated layout or null if it has to be inflated again
+     */
+    public @Nullable View take(@NonNull Context context, @LayoutRes int layoutRes, @Nullable ViewGroup container) {
+        View view = mView;
+        boolean matches = view != null && container == null && context == mContext
+                && layoutRes == mLayoutRes
+                && mConfiguration.equals(context.getResources().getConfiguration());
+        mView = null;
+        mContext = null;
+        mConfiguration = null;
+        mTasks.clear();
+        if (mScheduled) {
+            mScheduled = false;
+            Looper.myQueue().removeIdleHandler(this);
+        }
+        return matches ? view : null;
+    }
+
+    @Override
+    public boolean queueIdle() {
+        Runnable task = mTasks.poll();
+        if (task != null) task.run();
+        mScheduled = !mTasks.isEmpty();
+        return mScheduled;
+    }
+
+    private static @NonNull Context getDialogContext(@NonNull Context context) {
+        // AppCompatDialog uses the dialogTheme of the Activity when no theme is passed
+        TypedValue typedValue = new TypedValue();
+        if (!context.getTheme().resolveAttribute(androidx.appcompat.R.attr.dialogTheme, typedValue, true)
+                || typedValue.resourceId == 0) {
+            return context;
+        }
+        return new ContextThemeWrapper(context, typedValue.resourceId);
+    }
+}
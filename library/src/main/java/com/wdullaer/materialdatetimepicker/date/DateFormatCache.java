@@ -0,0 +1,109 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.content.Context;
+import android.os.Build;
+import android.text.format.DateFormat;
+import androidx.annotation.NonNull;
+
+import com.wdullaer.materialdatetimepicker.R;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * A bounded cache of the date formatters and month titles used by the date picker
+ * Formatters are keyed by pattern, Locale and TimeZone, so pickers with a different Locale never
+ * see each others formatters and a pattern is only compiled once. SimpleDateFormat is not thread
+ * safe, so all access goes through a single lock. Month titles are formatted once per month and
+ * then served as immutable Strings.
+ */
+final class DateFormatCache {
+    static final String YEAR_PATTERN = "yyyy";
+    static final String MONTH_PATTERN = "MMM";
+    static final String DAY_PATTERN = "dd";
+    private static final String MONTH_TITLE_SKELETON = "MMMM yyyy";
+
+    private static final int MAX_FORMATTERS = 16;
+    // A few years worth of months, in a couple of Locales
+    private static final int MAX_MONTH_TITLES = 96;
+
+    private static final LinkedHashMap<String, SimpleDateFormat> sFormatters = createLru(MAX_FORMATTERS);
+    private static final LinkedHashMap<String, String> sMonthTitles = createLru(MAX_MONTH_TITLES);
+    private static final Date sDate = new Date();
+
+    private DateFormatCache() {}
+
+    /**
+     * @param pattern a SimpleDateFormat pattern
+     * @param locale the Locale to format in
+     * @param timeZone the TimeZone to format in
+     * @param millis the moment to format
+     * @return the formatted moment
+     */
+    static synchronized @NonNull String format(@NonNull String pattern, @NonNull Locale locale,
+                                               @NonNull TimeZone timeZone, long millis) {
+        sDate.setTime(millis);
+        return getFormatter(pattern, locale, timeZone, false).format(sDate);
+    }
+
+    /**
+     * Returns the title of a month, as shown above the days of the month
+     * @param context a context to resolve the pattern on API < 18
+     * @param locale the Locale of the picker
+     * @param timeZone the TimeZone of the picker
+     * @param year the year of the month
+     * @param month the month (0-11)
+     * @return the localised month and year
+     */
+    static synchronized @NonNull String getMonthTitle(@NonNull Context context, @NonNull Locale locale,
+                                                      @NonNull TimeZone timeZone, int year, int month) {
+        String key = locale + "|" + timeZone.getID() + "|" + (year * 12 + month);
+        String title = sMonthTitles.get(key);
+        if (title == null) {
+            String pattern = Build.VERSION.SDK_INT < 18
+                    ? context.getResources().getString(R.string.mdtp_date_v1_monthyear)
+                    : DateFormat.getBestDateTimePattern(locale, MONTH_TITLE_SKELETON);
+            Calendar calendar = Calendar.getInstance(timeZone, locale);
+            calendar.clear();
+            calendar.set(year, month, 1);
+            title = getFormatter(pattern, locale, timeZone, true).format(calendar.getTime());
+            sMonthTitles.put(key, title);
+        }
+        return title;
+    }
+
+    /**
+     * Drops all cached formatters and titles
+     */
+    static synchronized void clear() {
+        sFormatters.clear();
+        sMonthTitles.clear();
+    }
+
+    private static @NonNull SimpleDateFormat getFormatter(@NonNull String pattern, @NonNull Locale locale,
+                                                          @NonNull TimeZone timeZone, boolean localized) {
+        String key = pattern + "|" + localized + "|" + locale + "|" + timeZone.getID();
+        SimpleDateFormat formatter = sFormatters.get(key);
+        if (formatter == null) {
+            formatter = new SimpleDateFormat(pattern, locale);
+            formatter.setTimeZone(timeZone);
+            if (localized) formatter.applyLocalizedPattern(pattern);
+            sFormatters.put(key, formatter);
+        }
+        return formatter;
+    }
+
+    private static <V> LinkedHashMap<String, V> createLru(final int maxSize) {
+        return new LinkedHashMap<String, V>(maxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
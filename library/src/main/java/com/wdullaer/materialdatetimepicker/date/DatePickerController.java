@@ -42,6 +42,42 @@ public interface DatePickerController {
     
     boolean isHighlighted(int year, int month, int day);
 
+    /**
+     * Writes the highlight categories of every day of a month into output
+     * The default implementation queries isHighlighted for every day and only uses category 0.
+     * @param year the year of the month
+     * @param month the month (0-11)
+     * @param output receives the bitmask of the categories of day n at index n - 1
+     */
+    default void getHighlightedDaysOfMonth(int year, int month, int[] output) {
+        int length = EpochDay.of(year, month + 1, 1) - EpochDay.of(year, month, 1);
+        for (int day = 1; day <= length; day++) {
+            output[day - 1] = isHighlighted(year, month, day) ? 1 : 0;
+        }
+    }
+
+    /**
+     * @return true if MonthViews should record their static layer once and draw it from a cache
+     */
+    default boolean isMonthRenderCacheEnabled() {
+        return false;
+    }
+
+    /**
+     * @return true if MonthViews should be taken from and returned to a process wide pool
+     */
+    default boolean isSharedMonthViewPoolEnabled() {
+        return false;
+    }
+
+    /**
+     * @param category the index of a highlight category
+     * @return the color used to highlight the days in the given category
+     */
+    default int getHighlightColor(int category) {
+        return getAccentColor();
+    }
+
     int getFirstDayOfWeek();
 
     int getMinYear();
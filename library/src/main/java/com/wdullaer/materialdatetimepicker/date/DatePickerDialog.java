@@ -18,6 +18,7 @@ package com.wdullaer.materialdatetimepicker.date;
 
 import android.animation.ObjectAnimator;
 import android.app.Activity;
+import android.content.Context;
 import android.content.DialogInterface;
 import android.content.res.Configuration;
 import android.content.res.Resources;
@@ -43,11 +44,10 @@ import androidx.appcompat.app.AppCompatDialogFragment;
 import androidx.core.content.ContextCompat;
 import androidx.core.content.res.ResourcesCompat;
 import com.wdullaer.materialdatetimepicker.HapticFeedbackController;
+import com.wdullaer.materialdatetimepicker.LayoutPrewarmer;
 import com.wdullaer.materialdatetimepicker.R;
 import com.wdullaer.materialdatetimepicker.Utils;
 
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.Locale;
@@ -87,6 +87,8 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     private static final String KEY_VIBRATE = "vibrate";
     private static final String KEY_DISMISS = "dismiss";
     private static final String KEY_AUTO_DISMISS = "auto_dismiss";
+    private static final String KEY_MONTH_RENDER_CACHE = "month_render_cache";
+    private static final String KEY_SHARED_MONTH_VIEW_POOL = "shared_month_view_pool";
     private static final String KEY_DEFAULT_VIEW = "default_view";
     private static final String KEY_TITLE = "title";
     private static final String KEY_OK_RESID = "ok_resid";
@@ -104,11 +106,6 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     private static final int ANIMATION_DURATION = 300;
     private static final int ANIMATION_DELAY = 500;
 
-    private static SimpleDateFormat YEAR_FORMAT = new SimpleDateFormat("yyyy", Locale.getDefault());
-    private static SimpleDateFormat MONTH_FORMAT = new SimpleDateFormat("MMM", Locale.getDefault());
-    private static SimpleDateFormat DAY_FORMAT = new SimpleDateFormat("dd", Locale.getDefault());
-    private static SimpleDateFormat VERSION_2_FORMAT;
-
     private Calendar mCalendar = Utils.trimToMidnight(Calendar.getInstance(getTimeZone()));
     private OnDateSetListener mCallBack;
     private HashSet<OnDateChangedListener> mListeners = new HashSet<>();
@@ -129,13 +126,15 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
 
     private int mWeekStart = mCalendar.getFirstDayOfWeek();
     private String mTitle;
-    private HashSet<Calendar> highlightedDays = new HashSet<>();
+    private HighlightedDays highlightedDays = new HighlightedDays();
     private boolean mThemeDark = false;
     private boolean mThemeDarkChanged = false;
     private Integer mAccentColor = null;
     private boolean mVibrate = true;
     private boolean mDismissOnPause = false;
     private boolean mAutoDismiss = false;
+    private boolean mMonthRenderCacheEnabled = false;
+    private boolean mSharedMonthViewPoolEnabled = false;
     private int mDefaultView = MONTH_AND_DAY_VIEW;
     private int mOkResid = R.string.mdtp_ok;
     private String mOkString;
@@ -147,10 +146,13 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     private ScrollOrientation mScrollOrientation;
     private TimeZone mTimezone;
     private Locale mLocale = Locale.getDefault();
+    // The pattern of the selected date in the VERSION_2 header, resolved for mLocale in onCreate
+    private String mVersion2Pattern;
     private DefaultDateRangeLimiter mDefaultLimiter = new DefaultDateRangeLimiter();
     private DateRangeLimiter mDateRangeLimiter = mDefaultLimiter;
 
     private HapticFeedbackController mHapticFeedbackController;
+    private final LayoutPrewarmer mPrewarmer = new LayoutPrewarmer();
 
     private boolean mDelayAnimation = true;
 
@@ -260,11 +262,10 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
             mDefaultView = savedInstanceState.getInt(KEY_DEFAULT_VIEW);
         }
         if (Build.VERSION.SDK_INT < 18) {
-            VERSION_2_FORMAT = new SimpleDateFormat(activity.getResources().getString(R.string.mdtp_date_v2_daymonthyear), mLocale);
+            mVersion2Pattern = activity.getResources().getString(R.string.mdtp_date_v2_daymonthyear);
         } else {
-            VERSION_2_FORMAT = new SimpleDateFormat(DateFormat.getBestDateTimePattern(mLocale, "EEEMMMdd"), mLocale);
+            mVersion2Pattern = DateFormat.getBestDateTimePattern(mLocale, "EEEMMMdd");
         }
-        VERSION_2_FORMAT.setTimeZone(getTimeZone());
     }
 
     @Override
@@ -283,13 +284,17 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
             outState.putInt(KEY_LIST_POSITION_OFFSET, mYearPickerView.getFirstPositionOffset());
         }
         outState.putInt(KEY_LIST_POSITION, listPosition);
-        outState.putSerializable(KEY_HIGHLIGHTED_DAYS, highlightedDays);
+        EpochDayCodec.Writer highlightWriter = new EpochDayCodec.Writer();
+        highlightedDays.writeTo(highlightWriter);
+        outState.putByteArray(KEY_HIGHLIGHTED_DAYS, highlightWriter.toByteArray());
         outState.putBoolean(KEY_THEME_DARK, mThemeDark);
         outState.putBoolean(KEY_THEME_DARK_CHANGED, mThemeDarkChanged);
         if (mAccentColor != null) outState.putInt(KEY_ACCENT, mAccentColor);
         outState.putBoolean(KEY_VIBRATE, mVibrate);
         outState.putBoolean(KEY_DISMISS, mDismissOnPause);
         outState.putBoolean(KEY_AUTO_DISMISS, mAutoDismiss);
+        outState.putBoolean(KEY_MONTH_RENDER_CACHE, mMonthRenderCacheEnabled);
+        outState.putBoolean(KEY_SHARED_MONTH_VIEW_POOL, mSharedMonthViewPoolEnabled);
         outState.putInt(KEY_DEFAULT_VIEW, mDefaultView);
         outState.putString(KEY_TITLE, mTitle);
         outState.putInt(KEY_OK_RESID, mOkResid);
@@ -321,14 +326,17 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
             currentView = savedInstanceState.getInt(KEY_CURRENT_VIEW);
             listPosition = savedInstanceState.getInt(KEY_LIST_POSITION);
             listPositionOffset = savedInstanceState.getInt(KEY_LIST_POSITION_OFFSET);
-            //noinspection unchecked
-            highlightedDays = (HashSet<Calendar>) savedInstanceState.getSerializable(KEY_HIGHLIGHTED_DAYS);
+            highlightedDays = HighlightedDays.readFrom(
+                    new EpochDayCodec.Reader(savedInstanceState.getByteArray(KEY_HIGHLIGHTED_DAYS))
+            );
             mThemeDark = savedInstanceState.getBoolean(KEY_THEME_DARK);
             mThemeDarkChanged = savedInstanceState.getBoolean(KEY_THEME_DARK_CHANGED);
             if (savedInstanceState.containsKey(KEY_ACCENT)) mAccentColor = savedInstanceState.getInt(KEY_ACCENT);
             mVibrate = savedInstanceState.getBoolean(KEY_VIBRATE);
             mDismissOnPause = savedInstanceState.getBoolean(KEY_DISMISS);
             mAutoDismiss = savedInstanceState.getBoolean(KEY_AUTO_DISMISS);
+            mMonthRenderCacheEnabled = savedInstanceState.getBoolean(KEY_MONTH_RENDER_CACHE);
+            mSharedMonthViewPoolEnabled = savedInstanceState.getBoolean(KEY_SHARED_MONTH_VIEW_POOL);
             mTitle = savedInstanceState.getString(KEY_TITLE);
             mOkResid = savedInstanceState.getInt(KEY_OK_RESID);
             mOkString = savedInstanceState.getString(KEY_OK_STRING);
@@ -364,8 +372,9 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
 
         mDefaultLimiter.setController(this);
 
-        int viewRes = mVersion == Version.VERSION_1 ? R.layout.mdtp_date_picker_dialog : R.layout.mdtp_date_picker_dialog_v2;
-        View view = inflater.inflate(viewRes, container, false);
+        int viewRes = getLayoutResource();
+        View view = mPrewarmer.take(requireActivity(), viewRes, container);
+        if (view == null) view = inflater.inflate(viewRes, container, false);
         // All options have been set at this point: round the initial selection if necessary
         mCalendar = mDateRangeLimiter.setToNearestDate(mCalendar);
 
@@ -562,7 +571,7 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
                     }
                 }
 
-                CharSequence yearString = YEAR_FORMAT.format(millis);
+                CharSequence yearString = format(DateFormatCache.YEAR_PATTERN, millis);
                 mAnimator.setContentDescription(mYearPickerDescription + ": " + yearString);
                 Utils.tryAccessibilityAnnounce(mAnimator, mSelectYear);
                 break;
@@ -570,7 +579,8 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     }
 
     private void updateDisplay(boolean announce) {
-        mYearView.setText(YEAR_FORMAT.format(mCalendar.getTime()));
+        long millis = mCalendar.getTimeInMillis();
+        mYearView.setText(format(DateFormatCache.YEAR_PATTERN, millis));
 
         if (mVersion == Version.VERSION_1) {
             if (mDatePickerHeaderView != null) {
@@ -581,12 +591,12 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
                             mLocale));
                 }
             }
-            mSelectedMonthTextView.setText(MONTH_FORMAT.format(mCalendar.getTime()));
-            mSelectedDayTextView.setText(DAY_FORMAT.format(mCalendar.getTime()));
+            mSelectedMonthTextView.setText(format(DateFormatCache.MONTH_PATTERN, millis));
+            mSelectedDayTextView.setText(format(DateFormatCache.DAY_PATTERN, millis));
         }
 
         if (mVersion == Version.VERSION_2) {
-            mSelectedDayTextView.setText(VERSION_2_FORMAT.format(mCalendar.getTime()));
+            mSelectedDayTextView.setText(format(mVersion2Pattern, millis));
             if (mTitle != null)
                 mDatePickerHeaderView.setText(mTitle.toUpperCase(mLocale));
             else
@@ -594,7 +604,6 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
         }
 
         // Accessibility.
-        long millis = mCalendar.getTimeInMillis();
         mAnimator.setDateMillis(millis);
         int flags = DateUtils.FORMAT_SHOW_DATE | DateUtils.FORMAT_NO_YEAR;
         String monthAndDayText = DateUtils.formatDateTime(getActivity(), millis, flags);
@@ -607,6 +616,10 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
         }
     }
 
+    private String format(String pattern, long millis) {
+        return DateFormatCache.format(pattern, mLocale, getTimeZone(), millis);
+    }
+
     /**
      * Set whether the device should vibrate when touching fields
      *
@@ -635,6 +648,94 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
         mAutoDismiss = autoDismiss;
     }
 
+    /**
+     * Set whether the months should be drawn from a cache of recordings
+     * Everything but the selected day is recorded once per month, which makes scrolling through the
+     * months cheaper at the cost of some memory. This has to be set before the dialog is shown.
+     * Custom MonthView subclasses are always drawn directly.
+     *
+     * @param enabled true if the months should be drawn from a cache
+     */
+    @SuppressWarnings("unused")
+    public void setMonthRenderCacheEnabled(boolean enabled) {
+        mMonthRenderCacheEnabled = enabled;
+    }
+
+    @Override
+    public boolean isMonthRenderCacheEnabled() {
+        return mMonthRenderCacheEnabled;
+    }
+
+    /**
+     * Set whether the picker should reuse the month views of previously shown pickers
+     * The views are kept in a process wide pool, per combination of theme, accent color, version,
+     * locale and timezone. Reopening a picker then binds existing views instead of creating new ones.
+     * This has to be set before the dialog is shown.
+     *
+     * @param enabled true if the month views should be shared between pickers
+     */
+    @SuppressWarnings("unused")
+    public void setSharedMonthViewPoolEnabled(boolean enabled) {
+        mSharedMonthViewPoolEnabled = enabled;
+    }
+
+    @Override
+    public boolean isSharedMonthViewPoolEnabled() {
+        return mSharedMonthViewPoolEnabled;
+    }
+
+    /**
+     * Creates the month views of this picker ahead of time, while the main thread is idle
+     * This enables the shared month view pool and should be called on the main thread after the
+     * picker has been configured, with the Activity that is going to show it.
+     *
+     * @param context the Activity that will show the picker, used to resolve theme attributes
+     */
+    @SuppressWarnings("unused")
+    public void prewarmMonthViews(@NonNull Context context) {
+        mSharedMonthViewPoolEnabled = true;
+        resolveTheme(context);
+        MonthViewPool.prewarm(context, this);
+    }
+
+    /**
+     * Prepares the picker while the main thread is idle, so it opens faster
+     * This resolves the theme colors, loads the fonts and localised day labels and inflates the
+     * layout of the picker. The next time the picker is shown by the same Activity it uses that
+     * layout instead of inflating a new one. If the shared month view pool is enabled, the month
+     * views are created as well.
+     * Call this on the main thread after the picker has been configured.
+     *
+     * @param context the Activity that will show the picker
+     */
+    @SuppressWarnings("unused")
+    public void prewarm(@NonNull Context context) {
+        resolveTheme(context);
+        final Locale locale = getLocale();
+        mPrewarmer.post(() -> ResourcesCompat.getFont(context, R.font.robotomedium));
+        mPrewarmer.post(() -> DayLabels.get(locale));
+        mPrewarmer.inflate(context, getLayoutResource());
+        if (mSharedMonthViewPoolEnabled) MonthViewPool.prewarm(context, this);
+    }
+
+    // Resolve the theme the same way onCreateView does, so prewarmed views match the picker
+    private void resolveTheme(@NonNull Context context) {
+        if (!mThemeDarkChanged) mThemeDark = Utils.isDarkTheme(context, mThemeDark);
+        if (mAccentColor == null) mAccentColor = Utils.getAccentColorFromThemeIfAvailable(context);
+    }
+
+    private int getLayoutResource() {
+        return mVersion == Version.VERSION_1 ? R.layout.mdtp_date_picker_dialog : R.layout.mdtp_date_picker_dialog_v2;
+    }
+
+    /**
+     * Drops all month views in the shared pool, for instance when the system is low on memory
+     */
+    @SuppressWarnings("unused")
+    public static void clearSharedMonthViewPool() {
+        MonthViewPool.clear();
+    }
+
     /**
      * Set whether the dark theme should be used
      *
@@ -807,9 +908,25 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
      */
     @SuppressWarnings("unused")
     public void setHighlightedDays(Calendar[] highlightedDays) {
-        for (Calendar highlightedDay : highlightedDays) {
-            this.highlightedDays.add(Utils.trimToMidnight((Calendar) highlightedDay.clone()));
-        }
+        addHighlightedDays(highlightedDays, HighlightedDays.DEFAULT_CATEGORY);
+    }
+
+    /**
+     * Sets an array of dates which should be highlighted in the given color when the picker is drawn
+     * Dates can be highlighted in several colors at once, up to 31 different colors are supported.
+     *
+     * @param highlightedDays an Array of Calendar objects containing the dates to be highlighted
+     * @param color the color of the highlight, as an ARGB int
+     */
+    @SuppressWarnings("unused")
+    public void setHighlightedDays(Calendar[] highlightedDays, @ColorInt int color) {
+        addHighlightedDays(highlightedDays, this.highlightedDays.getCategory(color));
+    }
+
+    private void addHighlightedDays(Calendar[] highlightedDays, int category) {
+        int[] days = new int[highlightedDays.length];
+        for (int i = 0; i < days.length; i++) days[i] = EpochDay.of(highlightedDays[i]);
+        this.highlightedDays.addAll(days, category);
         if (mDayPickerView != null) mDayPickerView.onChange();
     }
 
@@ -819,19 +936,27 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     @SuppressWarnings("unused")
     public Calendar[] getHighlightedDays() {
         if (highlightedDays.isEmpty()) return null;
-        Calendar[] output = highlightedDays.toArray(new Calendar[0]);
-        Arrays.sort(output);
+        int[] days = highlightedDays.getDays();
+        Calendar[] output = new Calendar[days.length];
+        for (int i = 0; i < days.length; i++) output[i] = EpochDay.toCalendar(days[i], getTimeZone());
         return output;
     }
 
     @Override
     public boolean isHighlighted(int year, int month, int day) {
-        Calendar date = Calendar.getInstance(getTimeZone());
-        date.set(Calendar.YEAR, year);
-        date.set(Calendar.MONTH, month);
-        date.set(Calendar.DAY_OF_MONTH, day);
-        Utils.trimToMidnight(date);
-        return highlightedDays.contains(date);
+        return highlightedDays.contains(EpochDay.of(year, month, day));
+    }
+
+    @Override
+    public void getHighlightedDaysOfMonth(int year, int month, int[] output) {
+        highlightedDays.getMonth(year, month, output);
+    }
+
+    @Override
+    public int getHighlightColor(int category) {
+        return category == HighlightedDays.DEFAULT_CATEGORY
+                ? getAccentColor()
+                : highlightedDays.getColor(category);
     }
 
     /**
@@ -874,6 +999,55 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
         return mDefaultLimiter.getDisabledDays();
     }
 
+    /**
+     * Makes all days between start and end (inclusive) valid selections
+     * This stacks with setSelectableDays() and previous calls to this method. Like setSelectableDays(),
+     * it will take precedence over using setMinDate() and setMaxDate()
+     * Prefer this over setSelectableDays() for long periods, as it does not store the individual days
+     *
+     * @param start the first selectable date of the range
+     * @param end the last selectable date of the range
+     */
+    @SuppressWarnings("unused")
+    public void setSelectableDayRange(@NonNull Calendar start, @NonNull Calendar end) {
+        mDefaultLimiter.setSelectableDayRange(start, end);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * Makes all days between start and end (inclusive) unselectable
+     * This stacks with setDisabledDays() and previous calls to this method
+     * Prefer this over setDisabledDays() for long periods, as it does not store the individual days
+     *
+     * @param start the first disabled date of the range
+     * @param end the last disabled date of the range
+     */
+    @SuppressWarnings("unused")
+    public void setDisabledDayRange(@NonNull Calendar start, @NonNull Calendar end) {
+        mDefaultLimiter.setDisabledDayRange(start, end);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * Disables the given days of the week in every week, for instance to disable all weekends
+     * This replaces the weekdays passed in a previous call and stacks with setDisabledDays()
+     *
+     * @param daysOfWeek the disabled days, as Calendar.SUNDAY through Calendar.SATURDAY
+     */
+    @SuppressWarnings("unused")
+    public void setDisabledDaysOfWeek(int... daysOfWeek) {
+        mDefaultLimiter.setDisabledDaysOfWeek(daysOfWeek);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * @return the days of the week that are disabled in every week, as Calendar.DAY_OF_WEEK constants
+     */
+    @SuppressWarnings("unused")
+    public int[] getDisabledDaysOfWeek() {
+        return mDefaultLimiter.getDisabledDaysOfWeek();
+    }
+
     /**
      * Provide a DateRangeLimiter for full control over which dates are enabled and disabled in the picker
      * @param dateRangeLimiter An implementation of the DateRangeLimiter interface
@@ -881,6 +1055,8 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     @SuppressWarnings("unused")
     public void setDateRangeLimiter(DateRangeLimiter dateRangeLimiter) {
         mDateRangeLimiter = dateRangeLimiter;
+        // The MonthViews cache which days are out of range, so they need to be rebound
+        if (mDayPickerView != null) mDayPickerView.onChange();
     }
 
     /**
@@ -980,9 +1156,6 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     public void setTimeZone(TimeZone timeZone) {
         mTimezone = timeZone;
         mCalendar.setTimeZone(timeZone);
-        YEAR_FORMAT.setTimeZone(timeZone);
-        MONTH_FORMAT.setTimeZone(timeZone);
-        DAY_FORMAT.setTimeZone(timeZone);
     }
 
     /**
@@ -993,9 +1166,6 @@ public class DatePickerDialog extends AppCompatDialogFragment implements
     public void setLocale(Locale locale) {
         mLocale = locale;
         mWeekStart = Calendar.getInstance(mTimezone, mLocale).getFirstDayOfWeek();
-        YEAR_FORMAT = new SimpleDateFormat("yyyy", locale);
-        MONTH_FORMAT = new SimpleDateFormat("MMM", locale);
-        DAY_FORMAT = new SimpleDateFormat("dd", locale);
     }
 
     /**
@@ -0,0 +1,105 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.os.Build;
+import androidx.annotation.NonNull;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * The localised day numbers and weekday labels rendered by a MonthView
+ * These are formatted once per Locale and shared by all MonthViews, so no formatting happens
+ * while drawing.
+ */
+final class DayLabels {
+    private static final int MAX_DAYS_IN_MONTH = 31;
+
+    // The most recently used instance. All MonthViews of a picker use the same Locale.
+    private static volatile DayLabels sCache;
+
+    private final Locale mLocale;
+    // Indexed by day number
+    private final String[] mDayNumbers = new String[MAX_DAYS_IN_MONTH + 1];
+    // Indexed by Calendar.DAY_OF_WEEK
+    private final String[] mWeekDayLabels = new String[Calendar.SATURDAY + 1];
+
+    private DayLabels(@NonNull Locale locale) {
+        mLocale = locale;
+        for (int day = 1; day <= MAX_DAYS_IN_MONTH; day++) {
+            mDayNumbers[day] = String.format(locale, "%d", day);
+        }
+        Calendar calendar = Calendar.getInstance(locale);
+        for (int dayOfWeek = Calendar.SUNDAY; dayOfWeek <= Calendar.SATURDAY; dayOfWeek++) {
+            calendar.set(Calendar.DAY_OF_WEEK, dayOfWeek);
+            mWeekDayLabels[dayOfWeek] = createWeekDayLabel(calendar, locale);
+        }
+    }
+
+    /**
+     * @param locale the Locale of the picker
+     * @return the labels for the given Locale
+     */
+    static @NonNull DayLabels get(@NonNull Locale locale) {
+        DayLabels labels = sCache;
+        if (labels == null || !labels.mLocale.equals(locale)) {
+            labels = new DayLabels(locale);
+            sCache = labels;
+        }
+        return labels;
+    }
+
+    /**
+     * @param day the day of the month (1-31)
+     * @return the localised representation of the day number
+     */
+    @NonNull String getDayNumber(int day) {
+        return mDayNumbers[day];
+    }
+
+    /**
+     * @param dayOfWeek the day of the week, as one of the Calendar.DAY_OF_WEEK constants
+     * @return a 1 or 2 letter String for use as a weekday label
+     */
+    @NonNull String getWeekDayLabel(int dayOfWeek) {
+        return mWeekDayLabels[dayOfWeek];
+    }
+
+    private static @NonNull String createWeekDayLabel(@NonNull Calendar day, @NonNull Locale locale) {
+        // Localised short version of the string is not available on API < 18
+        if (Build.VERSION.SDK_INT < 18) {
+            String dayName = new SimpleDateFormat("E", locale).format(day.getTime());
+            String dayLabel = dayName.toUpperCase(locale).substring(0, 1);
+
+            // Chinese labels should be fetched right to left
+            if (locale.equals(Locale.CHINA) || locale.equals(Locale.CHINESE) || locale.equals(Locale.SIMPLIFIED_CHINESE) || locale.equals(Locale.TRADITIONAL_CHINESE)) {
+                int len = dayName.length();
+                dayLabel = dayName.substring(len - 1, len);
+            }
+
+            // Most hebrew labels should select the second to last character
+            if (locale.getLanguage().equals("he") || locale.getLanguage().equals("iw")) {
+                if (day.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
+                    int len = dayName.length();
+                    dayLabel = dayName.substring(len - 2, len - 1);
+                } else {
+                    // I know this is duplication, but it makes the code easier to grok by
+                    // having all hebrew code in the same block
+                    dayLabel = dayName.toUpperCase(locale).substring(0, 1);
+                }
+            }
+
+            // Catalan labels should be two digits in lowercase
+            if (locale.getLanguage().equals("ca"))
+                dayLabel = dayName.toLowerCase().substring(0, 2);
+
+            // Correct single character label in Spanish is X
+            if (locale.getLanguage().equals("es") && day.get(Calendar.DAY_OF_WEEK) == Calendar.WEDNESDAY)
+                dayLabel = "X";
+
+            return dayLabel;
+        }
+        // Getting the short label is a one liner on API >= 18
+        return new SimpleDateFormat("EEEEE", locale).format(day.getTime());
+    }
+}
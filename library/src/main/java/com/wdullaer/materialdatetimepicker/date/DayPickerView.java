@@ -28,10 +28,6 @@ import com.wdullaer.materialdatetimepicker.GravitySnapHelper;
 import com.wdullaer.materialdatetimepicker.Utils;
 import com.wdullaer.materialdatetimepicker.date.DatePickerDialog.OnDateChangedListener;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Locale;
-
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -128,6 +124,21 @@ public abstract class DayPickerView extends RecyclerView implements OnDateChange
         refreshAdapter();
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        // The theme and accent color of the dialog are only resolved once it creates its views,
+        // so the matching pool can only be looked up here
+        if (mController != null && mController.isSharedMonthViewPoolEnabled()) {
+            setRecycledViewPool(MonthViewPool.get(getContext(), mController));
+            LayoutManager layoutManager = getLayoutManager();
+            if (layoutManager instanceof LinearLayoutManager) {
+                // Hand the visible months back to the pool when the dialog goes away
+                ((LinearLayoutManager) layoutManager).setRecycleChildrenOnDetach(true);
+            }
+        }
+        super.onAttachedToWindow();
+    }
+
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
         super.onLayout(changed, l, t, r, b);
@@ -142,12 +153,13 @@ public abstract class DayPickerView extends RecyclerView implements OnDateChange
     protected void refreshAdapter() {
         if (mAdapter == null) {
             mAdapter = createMonthAdapter(mController);
+            setAdapter(mAdapter);
         } else {
+            // Rebinding the existing adapter keeps the layout and only redraws what changed
+            mAdapter.updateMonthRange();
             mAdapter.setSelectedDay(mSelectedDay);
             if (pageListener != null) pageListener.onPageChanged(getMostVisiblePosition());
         }
-        // refresh the view with the new parameters
-        setAdapter(mAdapter);
     }
 
     public abstract MonthAdapter createMonthAdapter(DatePickerController controller);
@@ -185,9 +197,7 @@ public abstract class DayPickerView extends RecyclerView implements OnDateChange
         }
 
         mTempDay.set(day);
-        int minMonth = mController.getStartDate().get(Calendar.MONTH);
-        final int position = (day.year - mController.getMinYear())
-                * MonthAdapter.MONTHS_IN_YEAR + day.month - minMonth;
+        final int position = mAdapter.getPosition(day.year, day.month);
 
         View child;
         int i = 0;
@@ -356,17 +366,11 @@ public abstract class DayPickerView extends RecyclerView implements OnDateChange
     void accessibilityAnnouncePageChanged() {
         MonthView mv = getMostVisibleMonth();
         if (mv != null) {
-            String monthYear = getMonthAndYearString(mv.mMonth, mv.mYear, mController.getLocale());
+            String monthYear = DateFormatCache.getMonthTitle(getContext(), mController.getLocale(),
+                    mController.getTimeZone(), mv.mYear, mv.mMonth);
             Utils.tryAccessibilityAnnounce(this, monthYear);
         } else {
             Log.w("DayPickerView", "Tried to announce before layout was initialized");
         }
     }
-
-    private static String getMonthAndYearString(int month, int year, Locale locale) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.MONTH, month);
-        calendar.set(Calendar.YEAR, year);
-        return new SimpleDateFormat("MMMM yyyy", locale).format(calendar.getTime());
-    }
 }
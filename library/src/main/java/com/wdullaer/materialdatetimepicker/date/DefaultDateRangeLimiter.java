@@ -24,42 +24,77 @@ import androidx.annotation.Nullable;
 import com.wdullaer.materialdatetimepicker.Utils;
 
 import java.util.Calendar;
-import java.util.HashSet;
 import java.util.TimeZone;
-import java.util.TreeSet;
 
 class DefaultDateRangeLimiter implements DateRangeLimiter {
     private static final int DEFAULT_START_YEAR = 1900;
     private static final int DEFAULT_END_YEAR = 2100;
+    private static final int ALL_DAYS_OF_WEEK = 0xFE;
 
     private transient DatePickerController mController;
     private int mMinYear = DEFAULT_START_YEAR;
     private int mMaxYear = DEFAULT_END_YEAR;
     private Calendar mMinDate;
     private Calendar mMaxDate;
-    private TreeSet<Calendar> selectableDays = new TreeSet<>();
-    private HashSet<Calendar> disabledDays = new HashSet<>();
+    // Epoch days of the first and last selectable day according to the year range and
+    // mMinDate / mMaxDate. This keeps Calendar math out of the hot loop.
+    private int mLowerBound = EpochDay.of(DEFAULT_START_YEAR, Calendar.JANUARY, 1);
+    private int mUpperBound = EpochDay.of(DEFAULT_END_YEAR, Calendar.DECEMBER, 31);
+    private EpochDaySet selectableDays = new EpochDaySet();
+    private EpochDaySet disabledDays = new EpochDaySet();
+    // Spans of days, which avoid storing every single day of a long blackout or season
+    private EpochDayRanges selectableRanges = new EpochDayRanges();
+    private EpochDayRanges disabledRanges = new EpochDayRanges();
+    // Bit (1 << Calendar.DAY_OF_WEEK) is set for every weekday that is disabled
+    private int mDisabledDaysOfWeek = 0;
 
     DefaultDateRangeLimiter() {}
 
-    @SuppressWarnings({"unchecked", "WeakerAccess"})
+    @SuppressWarnings("WeakerAccess")
     public DefaultDateRangeLimiter(Parcel in) {
         mMinYear = in.readInt();
         mMaxYear = in.readInt();
-        mMinDate = (Calendar) in.readSerializable();
-        mMaxDate = (Calendar) in.readSerializable();
-        selectableDays = (TreeSet<Calendar>) in.readSerializable();
-        disabledDays = (HashSet<Calendar>) in.readSerializable();
+        Calendar minDate = readCalendar(in);
+        Calendar maxDate = readCalendar(in);
+        if (minDate != null) setMinDate(minDate);
+        if (maxDate != null) setMaxDate(maxDate);
+        updateBounds();
+        EpochDayCodec.Reader reader = new EpochDayCodec.Reader(in.createByteArray());
+        selectableDays.addAll(reader.readDays());
+        disabledDays.addAll(reader.readDays());
+        selectableRanges.addAll(reader.readRanges());
+        disabledRanges.addAll(reader.readRanges());
+        mDisabledDaysOfWeek = in.readInt();
     }
 
     @Override
     public void writeToParcel(Parcel out, int flags) {
         out.writeInt(mMinYear);
         out.writeInt(mMaxYear);
-        out.writeSerializable(mMinDate);
-        out.writeSerializable(mMaxDate);
-        out.writeSerializable(selectableDays);
-        out.writeSerializable(disabledDays);
+        writeCalendar(out, mMinDate);
+        writeCalendar(out, mMaxDate);
+        // Days and ranges are stored as epoch day runs, which is orders of magnitude smaller than
+        // serializing a Calendar per day
+        EpochDayCodec.Writer writer = new EpochDayCodec.Writer();
+        writer.writeDays(selectableDays.toArray());
+        writer.writeDays(disabledDays.toArray());
+        writer.writeRanges(selectableRanges.toArray());
+        writer.writeRanges(disabledRanges.toArray());
+        out.writeByteArray(writer.toByteArray());
+        out.writeInt(mDisabledDaysOfWeek);
+    }
+
+    private static void writeCalendar(@NonNull Parcel out, @Nullable Calendar calendar) {
+        out.writeString(calendar == null ? null : calendar.getTimeZone().getID());
+        if (calendar != null) out.writeLong(calendar.getTimeInMillis());
+    }
+
+    private static @Nullable Calendar readCalendar(@NonNull Parcel in) {
+        String timeZone = in.readString();
+        if (timeZone == null) return null;
+        Calendar output = Calendar.getInstance(TimeZone.getTimeZone(timeZone));
+        output.setTimeInMillis(in.readLong());
+        return output;
     }
 
     @Override
@@ -80,23 +115,41 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
     };
 
     void setSelectableDays(@NonNull Calendar[] days) {
-        for (Calendar selectableDay : days) {
-            this.selectableDays.add(Utils.trimToMidnight((Calendar) selectableDay.clone()));
-        }
+        selectableDays.addAll(toEpochDays(days));
     }
 
     void setDisabledDays(@NonNull Calendar[] days) {
-        for (Calendar disabledDay : days) {
-            this.disabledDays.add(Utils.trimToMidnight((Calendar) disabledDay.clone()));
+        disabledDays.addAll(toEpochDays(days));
+    }
+
+    void setSelectableDayRange(@NonNull Calendar start, @NonNull Calendar end) {
+        selectableRanges.add(EpochDay.of(start), EpochDay.of(end));
+    }
+
+    void setDisabledDayRange(@NonNull Calendar start, @NonNull Calendar end) {
+        disabledRanges.add(EpochDay.of(start), EpochDay.of(end));
+    }
+
+    void setDisabledDaysOfWeek(@NonNull int[] daysOfWeek) {
+        int mask = 0;
+        for (int dayOfWeek : daysOfWeek) {
+            if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+                throw new IllegalArgumentException("Value must be between Calendar.SUNDAY and " +
+                        "Calendar.SATURDAY");
+            }
+            mask |= 1 << dayOfWeek;
         }
+        mDisabledDaysOfWeek = mask;
     }
 
     void setMinDate(@NonNull Calendar calendar) {
         mMinDate = Utils.trimToMidnight((Calendar) calendar.clone());
+        updateBounds();
     }
 
     void setMaxDate(@NonNull Calendar calendar) {
         mMaxDate = Utils.trimToMidnight((Calendar) calendar.clone());
+        updateBounds();
     }
 
     void setController(@NonNull DatePickerController controller) {
@@ -110,6 +163,14 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
 
         mMinYear = startYear;
         mMaxYear = endYear;
+        updateBounds();
+    }
+
+    private void updateBounds() {
+        mLowerBound = EpochDay.of(mMinYear, Calendar.JANUARY, 1);
+        if (mMinDate != null) mLowerBound = Math.max(mLowerBound, EpochDay.of(mMinDate));
+        mUpperBound = EpochDay.of(mMaxYear, Calendar.DECEMBER, 31);
+        if (mMaxDate != null) mUpperBound = Math.min(mUpperBound, EpochDay.of(mMaxDate));
     }
 
     @Nullable Calendar getMinDate() {
@@ -121,33 +182,41 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
     }
 
     @Nullable Calendar[] getSelectableDays() {
-         return selectableDays.isEmpty() ? null : selectableDays.toArray(new Calendar[0]);
+        return selectableDays.isEmpty() ? null : toCalendars(selectableDays);
     }
 
     @Nullable Calendar[] getDisabledDays() {
-        return disabledDays.isEmpty() ? null : disabledDays.toArray(new Calendar[0]);
+        return disabledDays.isEmpty() ? null : toCalendars(disabledDays);
+    }
+
+    @NonNull int[] getDisabledDaysOfWeek() {
+        int[] output = new int[Integer.bitCount(mDisabledDaysOfWeek)];
+        int i = 0;
+        for (int dayOfWeek = Calendar.SUNDAY; dayOfWeek <= Calendar.SATURDAY; dayOfWeek++) {
+            if ((mDisabledDaysOfWeek & (1 << dayOfWeek)) != 0) output[i++] = dayOfWeek;
+        }
+        return output;
     }
 
     @Override
     public int getMinYear() {
-        if (!selectableDays.isEmpty()) return selectableDays.first().get(Calendar.YEAR);
+        if (hasSelectableDays()) return EpochDay.getYear(firstSelectableDay());
         // Ensure no years can be selected outside of the given minimum date
         return mMinDate != null && mMinDate.get(Calendar.YEAR) > mMinYear ? mMinDate.get(Calendar.YEAR) : mMinYear;
     }
 
     @Override
     public int getMaxYear() {
-        if (!selectableDays.isEmpty()) return selectableDays.last().get(Calendar.YEAR);
+        if (hasSelectableDays()) return EpochDay.getYear(lastSelectableDay());
         // Ensure no years can be selected outside of the given maximum date
         return mMaxDate != null && mMaxDate.get(Calendar.YEAR) < mMaxYear ? mMaxDate.get(Calendar.YEAR) : mMaxYear;
     }
 
     @Override
     public @NonNull Calendar getStartDate() {
-        if (!selectableDays.isEmpty()) return (Calendar) selectableDays.first().clone();
+        if (hasSelectableDays()) return EpochDay.toCalendar(firstSelectableDay(), getTimeZone());
         if (mMinDate != null) return (Calendar) mMinDate.clone();
-        TimeZone timeZone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        Calendar output = Calendar.getInstance(timeZone);
+        Calendar output = Calendar.getInstance(getTimeZone());
         output.set(Calendar.YEAR, mMinYear);
         output.set(Calendar.DAY_OF_MONTH, 1);
         output.set(Calendar.MONTH, Calendar.JANUARY);
@@ -156,10 +225,9 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
 
     @Override
     public @NonNull Calendar getEndDate() {
-        if (!selectableDays.isEmpty()) return (Calendar) selectableDays.last().clone();
+        if (hasSelectableDays()) return EpochDay.toCalendar(lastSelectableDay(), getTimeZone());
         if (mMaxDate != null) return (Calendar) mMaxDate.clone();
-        TimeZone timeZone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        Calendar output = Calendar.getInstance(timeZone);
+        Calendar output = Calendar.getInstance(getTimeZone());
         output.set(Calendar.YEAR, mMaxYear);
         output.set(Calendar.DAY_OF_MONTH, 31);
         output.set(Calendar.MONTH, Calendar.DECEMBER);
@@ -170,79 +238,97 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
      * @return true if the specified year/month/day are within the selectable days or the range set by minDate and maxDate.
      * If one or either have not been set, they are considered as Integer.MIN_VALUE and
      * Integer.MAX_VALUE.
+     * This only uses integer arithmetic, bit tests and binary searches, it does not allocate.
      */
     @Override
     public boolean isOutOfRange(int year, int month, int day) {
-        TimeZone timezone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        Calendar date = Calendar.getInstance(timezone);
-        date.set(Calendar.YEAR, year);
-        date.set(Calendar.MONTH, month);
-        date.set(Calendar.DAY_OF_MONTH, day);
-        return isOutOfRange(date);
+        return isOutOfRange(EpochDay.of(year, month, day));
+    }
+
+    private boolean isOutOfRange(int day) {
+        return isDisabled(day) || !isSelectable(day);
+    }
+
+    private boolean isDisabled(int day) {
+        return disabledDays.contains(day)
+                || disabledRanges.contains(day)
+                || isDisabledDayOfWeek(day)
+                || isBeforeMin(day)
+                || isAfterMax(day);
+    }
+
+    private boolean isDisabledDayOfWeek(int day) {
+        return (mDisabledDaysOfWeek & (1 << EpochDay.getDayOfWeek(day))) != 0;
+    }
+
+    private boolean isSelectable(int day) {
+        return !hasSelectableDays() || selectableDays.contains(day) || selectableRanges.contains(day);
     }
 
-    private boolean isOutOfRange(@NonNull Calendar calendar) {
-        Utils.trimToMidnight(calendar);
-        return isDisabled(calendar) || !isSelectable(calendar);
+    private boolean hasSelectableDays() {
+        return !selectableDays.isEmpty() || !selectableRanges.isEmpty();
     }
 
-    private boolean isDisabled(@NonNull Calendar c) {
-        return disabledDays.contains(Utils.trimToMidnight(c)) || isBeforeMin(c) || isAfterMax(c);
+    private boolean hasDisabledDays() {
+        return !disabledDays.isEmpty() || !disabledRanges.isEmpty() || mDisabledDaysOfWeek != 0;
     }
 
-    private boolean isSelectable(@NonNull Calendar c) {
-        return selectableDays.isEmpty() || selectableDays.contains(Utils.trimToMidnight(c));
+    private int firstSelectableDay() {
+        return min(selectableDays.first(), selectableRanges.first());
     }
 
-    private boolean isBeforeMin(@NonNull Calendar calendar) {
-        return mMinDate != null && calendar.before(mMinDate) || calendar.get(Calendar.YEAR) < mMinYear;
+    private int lastSelectableDay() {
+        // NONE is Integer.MIN_VALUE, so it never wins
+        return Math.max(selectableDays.last(), selectableRanges.last());
     }
 
-    private boolean isAfterMax(@NonNull Calendar calendar) {
-        return mMaxDate != null && calendar.after(mMaxDate) || calendar.get(Calendar.YEAR) > mMaxYear;
+    // Math.min, but ignoring days which are NONE
+    private static int min(int day, int other) {
+        if (day == EpochDaySet.NONE) return other;
+        if (other == EpochDaySet.NONE) return day;
+        return Math.min(day, other);
+    }
+
+    private boolean isBeforeMin(int day) {
+        return day < mLowerBound;
+    }
+
+    private boolean isAfterMax(int day) {
+        return day > mUpperBound;
     }
 
     @Override
     public @NonNull Calendar setToNearestDate(@NonNull Calendar calendar) {
-        if (!selectableDays.isEmpty()) {
-            Calendar newCalendar = null;
-            Calendar higher = selectableDays.ceiling(calendar);
-            Calendar lower = selectableDays.lower(calendar);
-
-            if (higher == null && lower != null) newCalendar = lower;
-            else if (lower == null && higher != null) newCalendar = higher;
-
-            if (newCalendar != null || higher == null) {
-                newCalendar = newCalendar == null ? calendar : newCalendar;
-                TimeZone timeZone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-                newCalendar.setTimeZone(timeZone);
-                return (Calendar) newCalendar.clone();
-            }
+        int day = EpochDay.of(calendar);
+
+        if (hasSelectableDays()) {
+            int higher = min(selectableDays.ceiling(day), selectableRanges.ceiling(day));
+            int lower = Math.max(selectableDays.floor(day - 1), selectableRanges.floor(day - 1));
 
-            long highDistance = Math.abs(higher.getTimeInMillis() - calendar.getTimeInMillis());
-            long lowDistance = Math.abs(calendar.getTimeInMillis() - lower.getTimeInMillis());
+            if (higher == EpochDaySet.NONE) return EpochDay.toCalendar(lower, getTimeZone());
+            if (lower == EpochDaySet.NONE) return EpochDay.toCalendar(higher, getTimeZone());
 
-            if (lowDistance < highDistance) return (Calendar) lower.clone();
-            else return (Calendar) higher.clone();
+            if (day - lower < higher - day) return EpochDay.toCalendar(lower, getTimeZone());
+            else return EpochDay.toCalendar(higher, getTimeZone());
         }
 
-        if (!disabledDays.isEmpty()) {
-            Calendar forwardDate = isBeforeMin(calendar) ? getStartDate() : (Calendar) calendar.clone();
-            Calendar backwardDate = isAfterMax(calendar) ? getEndDate() : (Calendar) calendar.clone();
-            while (isDisabled(forwardDate) && isDisabled(backwardDate)) {
-                forwardDate.add(Calendar.DAY_OF_MONTH, 1);
-                backwardDate.add(Calendar.DAY_OF_MONTH, -1);
-            }
-            if (!isDisabled(backwardDate)) {
-                return backwardDate;
+        if (hasDisabledDays()) {
+            int forwardStart = isBeforeMin(day) ? EpochDay.of(getStartDate()) : day;
+            int backwardStart = isAfterMax(day) ? EpochDay.of(getEndDate()) : day;
+            int forwardDay = nextEnabledDay(forwardStart);
+            int backwardDay = previousEnabledDay(backwardStart);
+            // On a tie the earlier day wins
+            if (backwardDay != EpochDaySet.NONE
+                    && (forwardDay == EpochDaySet.NONE || backwardStart - backwardDay <= forwardDay - forwardStart)) {
+                return shiftDays(calendar, backwardDay - day);
             }
-            if (!isDisabled(forwardDate)) {
-                return forwardDate;
+            if (forwardDay != EpochDaySet.NONE) {
+                return shiftDays(calendar, forwardDay - day);
             }
         }
 
-        TimeZone timezone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        if (isBeforeMin(calendar)) {
+        TimeZone timezone = getTimeZone();
+        if (isBeforeMin(day)) {
             if (mMinDate != null) return (Calendar) mMinDate.clone();
             Calendar output = Calendar.getInstance(timezone);
             output.set(Calendar.YEAR, mMinYear);
@@ -251,7 +337,7 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
             return Utils.trimToMidnight(output);
         }
 
-        if (isAfterMax(calendar)) {
+        if (isAfterMax(day)) {
             if (mMaxDate != null) return (Calendar) mMaxDate.clone();
             Calendar output = Calendar.getInstance(timezone);
             output.set(Calendar.YEAR, mMaxYear);
@@ -262,4 +348,64 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
 
         return calendar;
     }
-}
\ No newline at end of file
+
+    /**
+     * Every iteration skips a whole run of consecutive disabled days (or a single disabled weekday),
+     * so long blackouts are crossed in a handful of steps
+     * @param day the epoch day to start searching from
+     * @return the first day on or after the given day that is not disabled, NONE if there is none
+     */
+    private int nextEnabledDay(int day) {
+        if (mDisabledDaysOfWeek == ALL_DAYS_OF_WEEK) return EpochDaySet.NONE;
+        day = Math.max(day, mLowerBound);
+        while (day <= mUpperBound) {
+            int next = disabledDays.nextAbsent(day);
+            int rangeEnd = disabledRanges.getRangeEnd(next);
+            if (rangeEnd != EpochDayRanges.NONE) day = rangeEnd + 1;
+            else if (isDisabledDayOfWeek(next)) day = next + 1;
+            else return next <= mUpperBound ? next : EpochDaySet.NONE;
+        }
+        return EpochDaySet.NONE;
+    }
+
+    /**
+     * @param day the epoch day to start searching from
+     * @return the last day on or before the given day that is not disabled, NONE if there is none
+     */
+    private int previousEnabledDay(int day) {
+        if (mDisabledDaysOfWeek == ALL_DAYS_OF_WEEK) return EpochDaySet.NONE;
+        day = Math.min(day, mUpperBound);
+        while (day >= mLowerBound) {
+            int previous = disabledDays.previousAbsent(day);
+            int rangeStart = disabledRanges.getRangeStart(previous);
+            if (rangeStart != EpochDayRanges.NONE) day = rangeStart - 1;
+            else if (isDisabledDayOfWeek(previous)) day = previous - 1;
+            else return previous >= mLowerBound ? previous : EpochDaySet.NONE;
+        }
+        return EpochDaySet.NONE;
+    }
+
+    private @NonNull TimeZone getTimeZone() {
+        return mController == null ? TimeZone.getDefault() : mController.getTimeZone();
+    }
+
+    private static @NonNull Calendar shiftDays(@NonNull Calendar calendar, int days) {
+        Calendar output = (Calendar) calendar.clone();
+        if (days != 0) output.add(Calendar.DAY_OF_MONTH, days);
+        return output;
+    }
+
+    private static @NonNull int[] toEpochDays(@NonNull Calendar[] days) {
+        int[] output = new int[days.length];
+        for (int i = 0; i < days.length; i++) output[i] = EpochDay.of(days[i]);
+        return output;
+    }
+
+    private @NonNull Calendar[] toCalendars(@NonNull EpochDaySet days) {
+        TimeZone timeZone = getTimeZone();
+        int[] epochDays = days.toArray();
+        Calendar[] output = new Calendar[epochDays.length];
+        for (int i = 0; i < epochDays.length; i++) output[i] = EpochDay.toCalendar(epochDays[i], timeZone);
+        return output;
+    }
+}
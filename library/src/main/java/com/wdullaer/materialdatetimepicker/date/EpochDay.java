@@ -0,0 +1,132 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import androidx.annotation.NonNull;
+
+import com.wdullaer.materialdatetimepicker.Utils;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Helper functions to convert between a calendar date and its epoch day: the number of days that
+ * have passed since January 1st 1900.
+ * The conversion only uses the year, month and day fields of a date (it does not handle timezones)
+ * and uses integer arithmetic only, so it can be used in the hot loop when rendering.
+ * Dates are interpreted in the proleptic Gregorian calendar.
+ */
+final class EpochDay {
+    // Days between 0000-03-01 and 1970-01-01, see http://howardhinnant.github.io/date_algorithms.html
+    private static final int DAYS_0000_TO_1970 = 719468;
+    // Days between 1900-01-01 and 1970-01-01
+    private static final int DAYS_1900_TO_1970 = 25567;
+    private static final int DAYS_PER_ERA = 146097;
+
+    private EpochDay() {}
+
+    /**
+     * Converts a date to its epoch day
+     * Like Calendar, the month is 0 based and overflowing months are carried into the year
+     * @param year the year of the date
+     * @param month the month of the date (0-11)
+     * @param day the day of the month of the date
+     * @return the number of days between 1900-01-01 and the given date
+     */
+    static int of(int year, int month, int day) {
+        year += floorDiv(month, 12);
+        month -= floorDiv(month, 12) * 12;
+
+        // Shift the year to start in March, so the leap day is the last day of the year
+        int y = month < Calendar.MARCH ? year - 1 : year;
+        int era = floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int monthFromMarch = month < Calendar.MARCH ? month + 10 : month - 2;
+        int dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970 + DAYS_1900_TO_1970;
+    }
+
+    /**
+     * Converts the date fields of a Calendar to its epoch day
+     * The time fields and the TimeZone of the Calendar are ignored
+     * @param calendar the date to convert
+     * @return the number of days between 1900-01-01 and the given date
+     */
+    static int of(@NonNull Calendar calendar) {
+        return of(
+                calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH)
+        );
+    }
+
+    /**
+     * @param epochDay the number of days since 1900-01-01
+     * @return the year of the given epoch day
+     */
+    static int getYear(int epochDay) {
+        int z = epochDay - DAYS_1900_TO_1970 + DAYS_0000_TO_1970;
+        int era = floorDiv(z, DAYS_PER_ERA);
+        int dayOfEra = z - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        // January and February belong to the next year
+        return yearOfEra + era * 400 + (getMonth(epochDay) < Calendar.MARCH ? 1 : 0);
+    }
+
+    /**
+     * @param epochDay the number of days since 1900-01-01
+     * @return the month (0-11) of the given epoch day
+     */
+    static int getMonth(int epochDay) {
+        int dayOfYear = getDayOfMarchYear(epochDay);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        return monthFromMarch < 10 ? monthFromMarch + 2 : monthFromMarch - 10;
+    }
+
+    /**
+     * @param epochDay the number of days since 1900-01-01
+     * @return the day of the month of the given epoch day
+     */
+    static int getDayOfMonth(int epochDay) {
+        int dayOfYear = getDayOfMarchYear(epochDay);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        return dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+    }
+
+    /**
+     * @param epochDay the number of days since 1900-01-01
+     * @return the day of the week of the given epoch day, as one of the Calendar.DAY_OF_WEEK constants
+     */
+    static int getDayOfWeek(int epochDay) {
+        // 1900-01-01 was a Monday
+        return epochDay + 1 - floorDiv(epochDay + 1, 7) * 7 + Calendar.SUNDAY;
+    }
+
+    /**
+     * Creates a new Calendar set to midnight of the given epoch day
+     * @param epochDay the number of days since 1900-01-01
+     * @param timeZone the TimeZone of the resulting Calendar
+     * @return a Calendar representing the given epoch day
+     */
+    static @NonNull Calendar toCalendar(int epochDay, @NonNull TimeZone timeZone) {
+        Calendar output = Calendar.getInstance(timeZone);
+        output.set(Calendar.YEAR, getYear(epochDay));
+        output.set(Calendar.MONTH, getMonth(epochDay));
+        output.set(Calendar.DAY_OF_MONTH, getDayOfMonth(epochDay));
+        return Utils.trimToMidnight(output);
+    }
+
+    private static int getDayOfMarchYear(int epochDay) {
+        int z = epochDay - DAYS_1900_TO_1970 + DAYS_0000_TO_1970;
+        int era = floorDiv(z, DAYS_PER_ERA);
+        int dayOfEra = z - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    }
+
+    // Math.floorDiv is only available from API 24
+    private static int floorDiv(int x, int y) {
+        int q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) q--;
+        return q;
+    }
+}
@@ -0,0 +1,152 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding for sets of epoch days (see {@link EpochDay}), used to save state
+ * Days are stored as runs of consecutive days. Each run is written as the gap to the previous run
+ * and its length, both as variable length integers. A typical set of a few thousand days fits in
+ * a few kilobytes, where serialized Calendars take hundreds of bytes per day.
+ */
+final class EpochDayCodec {
+    private EpochDayCodec() {}
+
+    /**
+     * @param days the epoch days to encode, in ascending order without duplicates
+     * @return the encoded days
+     */
+    static @NonNull byte[] encode(@NonNull int[] days) {
+        Writer writer = new Writer();
+        writer.writeDays(days);
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param bytes days that were encoded with {@link #encode(int[])}
+     * @return the epoch days in ascending order
+     */
+    static @NonNull int[] decode(@NonNull byte[] bytes) {
+        return new Reader(bytes).readDays();
+    }
+
+    /**
+     * Appends sets of days and other small integers to a growing byte array
+     */
+    static final class Writer {
+        private byte[] mBuffer = new byte[32];
+        private int mSize = 0;
+
+        /**
+         * @param days epoch days in ascending order without duplicates
+         */
+        void writeDays(@NonNull int[] days) {
+            // Collapse consecutive days into runs, flattened as [start0, end0, start1, end1, ...]
+            int[] ranges = new int[days.length * 2];
+            int size = 0;
+            for (int day : days) {
+                if (size > 0 && ranges[size - 1] == day - 1) {
+                    ranges[size - 1] = day;
+                } else {
+                    ranges[size++] = day;
+                    ranges[size++] = day;
+                }
+            }
+            writeRanges(Arrays.copyOf(ranges, size));
+        }
+
+        /**
+         * @param ranges sorted, disjoint and non adjacent ranges, flattened as [start0, end0, ...]
+         */
+        void writeRanges(@NonNull int[] ranges) {
+            int count = ranges.length / 2;
+            writeUnsigned(count);
+            for (int i = 0; i < count; i++) {
+                int start = ranges[2 * i];
+                int end = ranges[2 * i + 1];
+                if (i == 0) {
+                    writeSigned(start);
+                } else {
+                    // Runs are at least one day apart, so the smallest gap is encoded as 0
+                    writeUnsigned(start - ranges[2 * i - 1] - 2);
+                }
+                writeUnsigned(end - start);
+            }
+        }
+
+        void writeSigned(int value) {
+            writeUnsigned((value << 1) ^ (value >> 31));
+        }
+
+        void writeUnsigned(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        @NonNull byte[] toByteArray() {
+            return Arrays.copyOf(mBuffer, mSize);
+        }
+
+        private void write(int value) {
+            if (mSize == mBuffer.length) mBuffer = Arrays.copyOf(mBuffer, mSize * 2);
+            mBuffer[mSize++] = (byte) value;
+        }
+    }
+
+    /**
+     * Reads the values written by a {@link Writer}, in the same order
+     */
+    static final class Reader {
+        private final byte[] mBuffer;
+        private int mPosition = 0;
+
+        Reader(@NonNull byte[] buffer) {
+            mBuffer = buffer;
+        }
+
+        @NonNull int[] readDays() {
+            int[] ranges = readRanges();
+            int count = 0;
+            for (int i = 0; i < ranges.length; i += 2) count += ranges[i + 1] - ranges[i] + 1;
+            int[] output = new int[count];
+            int index = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                for (int day = ranges[i]; day <= ranges[i + 1]; day++) output[index++] = day;
+            }
+            return output;
+        }
+
+        @NonNull int[] readRanges() {
+            int count = readUnsigned();
+            int[] output = new int[count * 2];
+            for (int i = 0; i < count; i++) {
+                int start = i == 0 ? readSigned() : output[2 * i - 1] + 2 + readUnsigned();
+                output[2 * i] = start;
+                output[2 * i + 1] = start + readUnsigned();
+            }
+            return output;
+        }
+
+        int readSigned() {
+            int value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readUnsigned() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (mPosition == mBuffer.length) {
+                    throw new IllegalArgumentException("Unexpected end of the encoded days");
+                }
+                byte b = mBuffer[mPosition++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed variable length integer");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A set of epoch days (see {@link EpochDay}), stored as a sorted list of disjoint ranges
+ * Overlapping and adjacent ranges are merged when they are added, so lookups are a binary search
+ * on the number of ranges, independent of the number of days they span.
+ */
+final class EpochDayRanges {
+    /**
+     * Returned by the search methods when no matching day exists
+     */
+    static final int NONE = EpochDaySet.NONE;
+
+    // Inclusive boundaries of the ranges, sorted in ascending order
+    private int[] mStarts = new int[0];
+    private int[] mEnds = new int[0];
+    private int mSize = 0;
+
+    EpochDayRanges() {}
+
+    /**
+     * Adds all days between start and end (inclusive)
+     * @param start the first epoch day of the range
+     * @param end the last epoch day of the range
+     */
+    void add(int start, int end) {
+        if (end < start) {
+            throw new IllegalArgumentException("The end of a range must be larger than or equal to its start");
+        }
+        // The ranges which overlap with or are adjacent to [start, end] are merged into one
+        int first = indexOfLastStartAtOrBefore(start);
+        if (first < 0 || mEnds[first] < start - 1) first++;
+        int last = indexOfLastStartAtOrBefore(end == Integer.MAX_VALUE ? end : end + 1);
+
+        if (first <= last) {
+            start = Math.min(start, mStarts[first]);
+            end = Math.max(end, mEnds[last]);
+        }
+        int removed = last - first + 1;
+        int newSize = mSize - removed + 1;
+        if (newSize > mStarts.length) {
+            int capacity = Math.max(newSize, mStarts.length * 2);
+            int[] starts = new int[capacity];
+            int[] ends = new int[capacity];
+            System.arraycopy(mStarts, 0, starts, 0, mSize);
+            System.arraycopy(mEnds, 0, ends, 0, mSize);
+            mStarts = starts;
+            mEnds = ends;
+        }
+        int tail = mSize - (last + 1);
+        System.arraycopy(mStarts, last + 1, mStarts, first + 1, tail);
+        System.arraycopy(mEnds, last + 1, mEnds, first + 1, tail);
+        mStarts[first] = start;
+        mEnds[first] = end;
+        mSize = newSize;
+    }
+
+    boolean contains(int day) {
+        int index = indexOfLastStartAtOrBefore(day);
+        return index >= 0 && mEnds[index] >= day;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @return the number of disjoint ranges in the set
+     */
+    int size() {
+        return mSize;
+    }
+
+    int getStart(int index) {
+        return mStarts[index];
+    }
+
+    int getEnd(int index) {
+        return mEnds[index];
+    }
+
+    /**
+     * @return the lowest day in the set, or NONE if the set is empty
+     */
+    int first() {
+        return mSize == 0 ? NONE : mStarts[0];
+    }
+
+    /**
+     * @return the highest day in the set, or NONE if the set is empty
+     */
+    int last() {
+        return mSize == 0 ? NONE : mEnds[mSize - 1];
+    }
+
+    /**
+     * @param day the epoch day to start searching from
+     * @return the lowest day in the set that is greater than or equal to the given day, NONE otherwise
+     */
+    int ceiling(int day) {
+        int index = indexOfLastStartAtOrBefore(day);
+        if (index >= 0 && mEnds[index] >= day) return day;
+        return index + 1 < mSize ? mStarts[index + 1] : NONE;
+    }
+
+    /**
+     * @param day the epoch day to start searching from
+     * @return the highest day in the set that is lower than or equal to the given day, NONE otherwise
+     */
+    int floor(int day) {
+        int index = indexOfLastStartAtOrBefore(day);
+        if (index < 0) return NONE;
+        return Math.min(day, mEnds[index]);
+    }
+
+    /**
+     * @param day an epoch day
+     * @return the last day of the range containing the given day, NONE if the day is not in the set
+     */
+    int getRangeEnd(int day) {
+        int index = indexOfLastStartAtOrBefore(day);
+        return index >= 0 && mEnds[index] >= day ? mEnds[index] : NONE;
+    }
+
+    /**
+     * @param day an epoch day
+     * @return the first day of the range containing the given day, NONE if the day is not in the set
+     */
+    int getRangeStart(int day) {
+        int index = indexOfLastStartAtOrBefore(day);
+        return index >= 0 && mEnds[index] >= day ? mStarts[index] : NONE;
+    }
+
+    /**
+     * @return the boundaries of all ranges as [start0, end0, start1, end1, ...]
+     */
+    @NonNull int[] toArray() {
+        int[] output = new int[mSize * 2];
+        for (int i = 0; i < mSize; i++) {
+            output[2 * i] = mStarts[i];
+            output[2 * i + 1] = mEnds[i];
+        }
+        return output;
+    }
+
+    /**
+     * Adds all ranges in the format returned by toArray()
+     * @param ranges the boundaries of the ranges as [start0, end0, start1, end1, ...]
+     */
+    void addAll(@NonNull int[] ranges) {
+        for (int i = 0; i + 1 < ranges.length; i += 2) add(ranges[i], ranges[i + 1]);
+    }
+
+    // Binary search for the last range that starts at or before the given day, -1 if there is none
+    private int indexOfLastStartAtOrBefore(int day) {
+        int low = 0;
+        int high = mSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (mStarts[mid] <= day) low = mid + 1;
+            else high = mid - 1;
+        }
+        return high;
+    }
+}
@@ -0,0 +1,210 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A compact set of epoch days (see {@link EpochDay}), backed by a bitset
+ * The bitset only spans the range between the lowest and the highest day in the set, which keeps
+ * the memory footprint small (a couple of kilobytes for a few centuries) and makes lookups a single
+ * bit test that does not allocate.
+ */
+final class EpochDaySet {
+    /**
+     * Returned by the search methods when no matching day exists
+     */
+    static final int NONE = Integer.MIN_VALUE;
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+
+    private long[] mWords = new long[0];
+    // Index of the word that holds the first bit of mWords, relative to epoch day 0
+    private int mWordOffset = 0;
+    private int mSize = 0;
+
+    EpochDaySet() {}
+
+    EpochDaySet(@NonNull EpochDaySet other) {
+        mWords = other.mWords.clone();
+        mWordOffset = other.mWordOffset;
+        mSize = other.mSize;
+    }
+
+    /**
+     * @param day the epoch day to add
+     * @return true if the set did not already contain the day
+     */
+    boolean add(int day) {
+        ensureCapacity(day);
+        int index = wordIndex(day) - mWordOffset;
+        long mask = 1L << day;
+        if ((mWords[index] & mask) != 0) return false;
+        mWords[index] |= mask;
+        mSize++;
+        return true;
+    }
+
+    /**
+     * Adds all given days, growing the underlying bitset at most once
+     * @param days the epoch days to add
+     */
+    void addAll(@NonNull int[] days) {
+        if (days.length == 0) return;
+        int min = days[0];
+        int max = days[0];
+        for (int day : days) {
+            if (day < min) min = day;
+            if (day > max) max = day;
+        }
+        ensureCapacity(min);
+        ensureCapacity(max);
+        for (int day : days) add(day);
+    }
+
+    boolean contains(int day) {
+        int index = wordIndex(day) - mWordOffset;
+        return index >= 0 && index < mWords.length && (mWords[index] & (1L << day)) != 0;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    void clear() {
+        mWords = new long[0];
+        mWordOffset = 0;
+        mSize = 0;
+    }
+
+    /**
+     * @return the lowest day in the set, or NONE if the set is empty
+     */
+    int first() {
+        return ceiling(wordStart(0));
+    }
+
+    /**
+     * @return the highest day in the set, or NONE if the set is empty
+     */
+    int last() {
+        return floor(wordStart(mWords.length) - 1);
+    }
+
+    /**
+     * @param day the epoch day to start searching from
+     * @return the lowest day in the set that is greater than or equal to the given day, NONE otherwise
+     */
+    int ceiling(int day) {
+        if (mWords.length == 0) return NONE;
+        int index = wordIndex(day) - mWordOffset;
+        if (index >= mWords.length) return NONE;
+        long word;
+        if (index < 0) {
+            index = 0;
+            word = mWords[0];
+        } else {
+            word = mWords[index] & (-1L << day);
+        }
+        while (word == 0) {
+            if (++index == mWords.length) return NONE;
+            word = mWords[index];
+        }
+        return wordStart(index) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @param day the epoch day to start searching from
+     * @return the highest day in the set that is lower than or equal to the given day, NONE otherwise
+     */
+    int floor(int day) {
+        if (mWords.length == 0) return NONE;
+        int index = wordIndex(day) - mWordOffset;
+        if (index < 0) return NONE;
+        long word;
+        if (index >= mWords.length) {
+            index = mWords.length - 1;
+            word = mWords[index];
+        } else {
+            word = mWords[index] & (-1L >>> (BITS_PER_WORD - 1 - (day & (BITS_PER_WORD - 1))));
+        }
+        while (word == 0) {
+            if (--index < 0) return NONE;
+            word = mWords[index];
+        }
+        return wordStart(index) + BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * @param day the epoch day to start searching from
+     * @return the lowest day that is greater than or equal to the given day and not in the set
+     */
+    int nextAbsent(int day) {
+        int index = wordIndex(day) - mWordOffset;
+        if (index < 0 || index >= mWords.length) return day;
+        long word = ~mWords[index] & (-1L << day);
+        while (word == 0) {
+            if (++index == mWords.length) return wordStart(index);
+            word = ~mWords[index];
+        }
+        return wordStart(index) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @param day the epoch day to start searching from
+     * @return the highest day that is lower than or equal to the given day and not in the set
+     */
+    int previousAbsent(int day) {
+        int index = wordIndex(day) - mWordOffset;
+        if (index < 0 || index >= mWords.length) return day;
+        long word = ~mWords[index] & (-1L >>> (BITS_PER_WORD - 1 - (day & (BITS_PER_WORD - 1))));
+        while (word == 0) {
+            if (--index < 0) return wordStart(0) - 1;
+            word = ~mWords[index];
+        }
+        return wordStart(index) + BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * @return all days in the set in ascending order
+     */
+    @NonNull int[] toArray() {
+        int[] output = new int[mSize];
+        int i = 0;
+        for (int day = first(); day != NONE; day = ceiling(day + 1)) {
+            output[i++] = day;
+        }
+        return output;
+    }
+
+    private void ensureCapacity(int day) {
+        int index = wordIndex(day);
+        if (mWords.length == 0) {
+            mWords = new long[1];
+            mWordOffset = index;
+            return;
+        }
+        if (index < mWordOffset) {
+            long[] words = new long[mWords.length + mWordOffset - index];
+            System.arraycopy(mWords, 0, words, mWordOffset - index, mWords.length);
+            mWords = words;
+            mWordOffset = index;
+        } else if (index - mWordOffset >= mWords.length) {
+            long[] words = new long[index - mWordOffset + 1];
+            System.arraycopy(mWords, 0, words, 0, mWords.length);
+            mWords = words;
+        }
+    }
+
+    private int wordStart(int index) {
+        return (index + mWordOffset) << ADDRESS_BITS_PER_WORD;
+    }
+
+    // Arithmetic shift rounds towards negative infinity, which keeps days before 1900 working
+    private static int wordIndex(int day) {
+        return day >> ADDRESS_BITS_PER_WORD;
+    }
+}
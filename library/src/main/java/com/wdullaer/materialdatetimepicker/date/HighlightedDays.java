@@ -0,0 +1,191 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A map from epoch days (see {@link EpochDay}) to the highlight categories of that day
+ * Every category has its own color. The categories of a day are stored as a bitmask in a sorted
+ * primitive array, so a lookup is a binary search that does not allocate and a whole month can be
+ * read in a single pass.
+ */
+final class HighlightedDays {
+    /**
+     * The category used for days which were highlighted without a specific color
+     */
+    static final int DEFAULT_CATEGORY = 0;
+    static final int MAX_CATEGORIES = 32;
+
+    // Sorted epoch days and, at the same index, the bitmask of the categories of that day
+    private int[] mDays = new int[0];
+    private int[] mCategories = new int[0];
+    private int mSize = 0;
+
+    // The colors of the categories, the default category does not have one
+    private final int[] mColors = new int[MAX_CATEGORIES];
+    private int mCategoryCount = 1;
+
+    HighlightedDays() {}
+
+    /**
+     * Returns the category with the given color, creating it if it doesn't exist yet
+     * @param color the color of the category
+     * @return the index of the category
+     */
+    int getCategory(@ColorInt int color) {
+        for (int category = DEFAULT_CATEGORY + 1; category < mCategoryCount; category++) {
+            if (mColors[category] == color) return category;
+        }
+        if (mCategoryCount == MAX_CATEGORIES) {
+            throw new IllegalArgumentException("At most " + (MAX_CATEGORIES - 1) + " highlight colors are supported");
+        }
+        mColors[mCategoryCount] = color;
+        return mCategoryCount++;
+    }
+
+    /**
+     * @param category the index of a category other than the default category
+     * @return the color of the category
+     */
+    @ColorInt int getColor(int category) {
+        if (category <= DEFAULT_CATEGORY || category >= mCategoryCount) {
+            throw new IllegalArgumentException("Unknown highlight category " + category);
+        }
+        return mColors[category];
+    }
+
+    int getCategoryCount() {
+        return mCategoryCount;
+    }
+
+    /**
+     * Adds all given days to a category
+     * The days are merged with the existing ones in a single pass, so adding a few thousand days at
+     * once does not cost more than sorting them.
+     * @param days the epoch days to add, in any order
+     * @param category the index of the category
+     */
+    void addAll(@NonNull int[] days, int category) {
+        if (category < DEFAULT_CATEGORY || category >= mCategoryCount) {
+            throw new IllegalArgumentException("Unknown highlight category " + category);
+        }
+        if (days.length == 0) return;
+        int[] sorted = days.clone();
+        Arrays.sort(sorted);
+        int mask = 1 << category;
+
+        int[] outDays = new int[mSize + sorted.length];
+        int[] outCategories = new int[outDays.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < mSize || j < sorted.length) {
+            if (j == sorted.length || (i < mSize && mDays[i] < sorted[j])) {
+                outDays[size] = mDays[i];
+                outCategories[size++] = mCategories[i++];
+            } else if (size > 0 && outDays[size - 1] == sorted[j]) {
+                // Duplicate in the input
+                outCategories[size - 1] |= mask;
+                j++;
+            } else if (i < mSize && mDays[i] == sorted[j]) {
+                outDays[size] = mDays[i];
+                outCategories[size++] = mCategories[i++] | mask;
+                j++;
+            } else {
+                outDays[size] = sorted[j++];
+                outCategories[size++] = mask;
+            }
+        }
+        mDays = outDays;
+        mCategories = outCategories;
+        mSize = size;
+    }
+
+    /**
+     * @param day the epoch day to look up
+     * @return the bitmask of the categories of the given day, 0 if it isn't highlighted
+     */
+    int get(int day) {
+        int index = Arrays.binarySearch(mDays, 0, mSize, day);
+        return index >= 0 ? mCategories[index] : 0;
+    }
+
+    boolean contains(int day) {
+        return Arrays.binarySearch(mDays, 0, mSize, day) >= 0;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @return the number of highlighted days
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * Writes the category bitmasks of every day of a month into output
+     * @param year the year of the month
+     * @param month the month (0-11)
+     * @param output receives the bitmask of day n at index n - 1, must fit the days of the month
+     */
+    void getMonth(int year, int month, @NonNull int[] output) {
+        int first = EpochDay.of(year, month, 1);
+        int length = EpochDay.of(year, month + 1, 1) - first;
+        Arrays.fill(output, 0, length, 0);
+        int index = Arrays.binarySearch(mDays, 0, mSize, first);
+        if (index < 0) index = -index - 1;
+        for (; index < mSize && mDays[index] < first + length; index++) {
+            output[mDays[index] - first] = mCategories[index];
+        }
+    }
+
+    /**
+     * @return all highlighted days in ascending order
+     */
+    @NonNull int[] getDays() {
+        return Arrays.copyOf(mDays, mSize);
+    }
+
+    /**
+     * Writes the colors and the days of every category in the compact {@link EpochDayCodec} format
+     * @param writer the destination
+     */
+    void writeTo(@NonNull EpochDayCodec.Writer writer) {
+        writer.writeUnsigned(mCategoryCount);
+        for (int category = DEFAULT_CATEGORY + 1; category < mCategoryCount; category++) {
+            writer.writeSigned(mColors[category]);
+        }
+        int[] days = new int[mSize];
+        for (int category = DEFAULT_CATEGORY; category < mCategoryCount; category++) {
+            int mask = 1 << category;
+            int size = 0;
+            for (int i = 0; i < mSize; i++) if ((mCategories[i] & mask) != 0) days[size++] = mDays[i];
+            writer.writeDays(Arrays.copyOf(days, size));
+        }
+    }
+
+    /**
+     * @param reader a source positioned at the output of {@link #writeTo(EpochDayCodec.Writer)}
+     * @return the restored highlighted days
+     */
+    static @NonNull HighlightedDays readFrom(@NonNull EpochDayCodec.Reader reader) {
+        HighlightedDays output = new HighlightedDays();
+        int categoryCount = reader.readUnsigned();
+        if (categoryCount < 1 || categoryCount > MAX_CATEGORIES) {
+            throw new IllegalArgumentException("Invalid number of highlight categories " + categoryCount);
+        }
+        for (int category = DEFAULT_CATEGORY + 1; category < categoryCount; category++) {
+            output.mColors[category] = reader.readSigned();
+        }
+        output.mCategoryCount = categoryCount;
+        for (int category = DEFAULT_CATEGORY; category < categoryCount; category++) {
+            output.addAll(reader.readDays(), category);
+        }
+        return output;
+    }
+}
@@ -26,6 +26,7 @@ import com.wdullaer.materialdatetimepicker.date.MonthAdapter.MonthViewHolder;
 import com.wdullaer.materialdatetimepicker.date.MonthView.OnDayClickListener;
 
 import java.util.Calendar;
+import java.util.List;
 import java.util.TimeZone;
 
 /**
@@ -37,9 +38,25 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
     protected final DatePickerController mController;
 
     private CalendarDay mSelectedDay;
+    // The month of mSelectedDay when it was last set, as months since year 0
+    // mSelectedDay may be mutated by its owner, so this is needed to find the previous month
+    private int mSelectedMonth = -1;
+
+    // The month at position 0, as months since year 0 (year * 12 + month), and the number of months
+    // This is cached, so the adapter callbacks don't have to create Calendars through the controller
+    private int mStartMonth;
+    private int mMonthCount;
+    // The first day of the week the months were laid out with
+    private int mWeekStart;
+    // Recordings of the static layer of the months, only used if the controller enables it
+    private MonthRenderCache mRenderCache;
 
     protected static final int MONTHS_IN_YEAR = 12;
 
+    // Partial update payloads, which let a MonthView update itself without a full setMonthParams
+    static final Object PAYLOAD_SELECTED_DAY = new Object();
+    static final Object PAYLOAD_DAY_STATES = new Object();
+
     /**
      * A convenience class to represent a specific date.
      */
@@ -114,6 +131,7 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
 
     public MonthAdapter(DatePickerController controller) {
         mController = controller;
+        computeMonthRange();
         init();
         setSelectedDay(mController.getSelectedDay());
         setHasStableIds(true);
@@ -125,8 +143,17 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
      * @param day The day to highlight
      */
     public void setSelectedDay(CalendarDay day) {
+        int previousMonth = mSelectedMonth;
         mSelectedDay = day;
-        notifyDataSetChanged();
+        mSelectedMonth = day.year * MONTHS_IN_YEAR + day.month;
+        // Only the months that gain or lose the selection need to be redrawn
+        notifyMonthChanged(previousMonth, PAYLOAD_SELECTED_DAY);
+        if (mSelectedMonth != previousMonth) notifyMonthChanged(mSelectedMonth, PAYLOAD_SELECTED_DAY);
+    }
+
+    private void notifyMonthChanged(int month, Object payload) {
+        int position = month - mStartMonth;
+        if (month >= 0 && position >= 0 && position < mMonthCount) notifyItemChanged(position, payload);
     }
 
     @SuppressWarnings("unused")
@@ -141,22 +168,111 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
         mSelectedDay = new CalendarDay(System.currentTimeMillis(), mController.getTimeZone());
     }
 
+    /**
+     * Updates the months shown by this adapter after the constraints of the picker changed
+     * If the range of months and their layout are unchanged, the bound months only recompute the
+     * state of their days.
+     */
+    public void updateMonthRange() {
+        int startMonth = mStartMonth;
+        int monthCount = mMonthCount;
+        int weekStart = mWeekStart;
+        computeMonthRange();
+        if (mRenderCache != null) mRenderCache.clear();
+        if (startMonth == mStartMonth && monthCount == mMonthCount && weekStart == mWeekStart) {
+            notifyItemRangeChanged(0, mMonthCount, PAYLOAD_DAY_STATES);
+        } else {
+            notifyDataSetChanged();
+        }
+    }
+
+    private void computeMonthRange() {
+        Calendar startDate = mController.getStartDate();
+        Calendar endDate = mController.getEndDate();
+        mStartMonth = startDate.get(Calendar.YEAR) * MONTHS_IN_YEAR + startDate.get(Calendar.MONTH);
+        int endMonth = endDate.get(Calendar.YEAR) * MONTHS_IN_YEAR + endDate.get(Calendar.MONTH);
+        mMonthCount = endMonth - mStartMonth + 1;
+        mWeekStart = mController.getFirstDayOfWeek();
+    }
+
+    /**
+     * @param year the year of the month
+     * @param month the month (0-11)
+     * @return the adapter position of the given month
+     */
+    public int getPosition(int year, int month) {
+        return year * MONTHS_IN_YEAR + month - mStartMonth;
+    }
+
+    /**
+     * @param position an adapter position
+     * @return the year of the month at the given position
+     */
+    public int getYear(int position) {
+        return (mStartMonth + position) / MONTHS_IN_YEAR;
+    }
+
+    /**
+     * @param position an adapter position
+     * @return the month (0-11) at the given position
+     */
+    public int getMonth(int position) {
+        return (mStartMonth + position) % MONTHS_IN_YEAR;
+    }
+
     @Override
     @NonNull
     public MonthViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
 
-        MonthView v = createMonthView(parent.getContext());
+        // Views in the shared pool outlive the dialog, so they must not hold on to its Activity
+        Context context = mController.isSharedMonthViewPoolEnabled()
+                ? MonthViewPool.getContext(parent.getContext(), mController)
+                : parent.getContext();
+        MonthView v = createMonthView(context);
         // Set up the new view
         LayoutParams params = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
         v.setLayoutParams(params);
         v.setClickable(true);
-        v.setOnDayClickListener(this);
+        attach(v);
 
         return new MonthViewHolder(v);
     }
 
+    /**
+     * Connects a MonthView to this adapter, which is needed for views that come from a shared pool
+     */
+    private void attach(MonthView v) {
+        v.setController(mController);
+        v.setOnDayClickListener(this);
+        if (mController.isMonthRenderCacheEnabled()) {
+            if (mRenderCache == null) mRenderCache = new MonthRenderCache();
+            v.setRenderCache(mRenderCache);
+        }
+    }
+
     @Override public void onBindViewHolder(@NonNull MonthViewHolder holder, int position) {
-        holder.bind(position, mController, mSelectedDay);
+        attach((MonthView) holder.itemView);
+        holder.bind(getYear(position), getMonth(position), mController, mSelectedDay);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull MonthViewHolder holder) {
+        if (mController.isSharedMonthViewPoolEnabled()) {
+            // The view may be reused by another dialog, don't keep this one alive
+            MonthView v = (MonthView) holder.itemView;
+            v.setOnDayClickListener(null);
+            v.setRenderCache(null);
+            v.setController(null);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull MonthViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        holder.update(getYear(position), getMonth(position), payloads, mSelectedDay);
     }
 
     @Override
@@ -165,11 +281,7 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
     }
 
     @Override public int getItemCount() {
-        Calendar endDate = mController.getEndDate();
-        Calendar startDate = mController.getStartDate();
-        int endMonth = endDate.get(Calendar.YEAR) * MONTHS_IN_YEAR + endDate.get(Calendar.MONTH);
-        int startMonth = startDate.get(Calendar.YEAR) * MONTHS_IN_YEAR + startDate.get(Calendar.MONTH);
-        return endMonth - startMonth + 1;
+        return mMonthCount;
     }
 
     public abstract MonthView createMonthView(Context context);
@@ -199,10 +311,7 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
 
         }
 
-        void bind(int position, DatePickerController mController, CalendarDay selectedCalendarDay) {
-            final int month = (position + mController.getStartDate().get(Calendar.MONTH)) % MONTHS_IN_YEAR;
-            final int year = (position + mController.getStartDate().get(Calendar.MONTH)) / MONTHS_IN_YEAR + mController.getMinYear();
-
+        void bind(int year, int month, DatePickerController mController, CalendarDay selectedCalendarDay) {
             int selectedDay = -1;
             if (isSelectedDayInMonth(selectedCalendarDay, year, month)) {
                 selectedDay = selectedCalendarDay.day;
@@ -212,6 +321,16 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
             this.itemView.invalidate();
         }
 
+        /**
+         * Applies partial update payloads to a MonthView that is already bound to the given month
+         */
+        void update(int year, int month, List<Object> payloads, CalendarDay selectedCalendarDay) {
+            MonthView monthView = (MonthView) itemView;
+            monthView.setSelectedDay(isSelectedDayInMonth(selectedCalendarDay, year, month) ? selectedCalendarDay.day : -1);
+            if (payloads.contains(PAYLOAD_DAY_STATES)) monthView.updateDayStates();
+            monthView.invalidate();
+        }
+
         private boolean isSelectedDayInMonth(CalendarDay selectedDay, int year, int month) {
             return selectedDay.year == year && selectedDay.month == month;
         }
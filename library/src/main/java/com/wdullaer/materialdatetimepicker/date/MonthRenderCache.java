@@ -0,0 +1,80 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.graphics.Picture;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least recently used cache of the recorded static layer of MonthViews
+ * A recording holds everything a MonthView draws except the selected day, so it stays valid as
+ * long as the month, the width of the view, the selected day and the state of the days don't
+ * change. Every recording is stored with a copy of the day state it was made from (the flags and
+ * highlights of every day and the colors of the highlights) and is only returned for an identical
+ * state, so a new today, a change in the constraints of the picker or a new highlight color is
+ * never drawn from a stale recording.
+ * The owner should still call {@link #clear()} when the constraints change to release the memory.
+ */
+final class MonthRenderCache {
+    private static final int DEFAULT_MAX_SIZE = 24;
+
+    private final LinkedHashMap<Long, Entry> mPictures;
+
+    MonthRenderCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    MonthRenderCache(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("The cache must hold at least one month");
+        mPictures = new LinkedHashMap<Long, Entry>(maxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param state the day state the recording must have been made from
+     * @return the recording of the given month, or null if there is none for this state
+     */
+    @Nullable Picture get(int year, int month, int width, int selectedDay, @NonNull int[] state) {
+        Entry entry = mPictures.get(key(year, month, width, selectedDay));
+        return entry != null && Arrays.equals(entry.state, state) ? entry.picture : null;
+    }
+
+    /**
+     * @param state the day state the recording was made from, it is copied
+     */
+    void put(int year, int month, int width, int selectedDay, @NonNull int[] state, @NonNull Picture picture) {
+        mPictures.put(key(year, month, width, selectedDay), new Entry(picture, state.clone()));
+    }
+
+    void clear() {
+        mPictures.clear();
+    }
+
+    int size() {
+        return mPictures.size();
+    }
+
+    private static long key(int year, int month, int width, int selectedDay) {
+        // Days without a selection in the month all share the same recording
+        int day = selectedDay > 0 ? selectedDay : 0;
+        long monthAndDay = (year * 12L + month) * 32 + day;
+        return monthAndDay << 32 | (width & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry {
+        final Picture picture;
+        final int[] state;
+
+        Entry(@NonNull Picture picture, @NonNull int[] state) {
+            this.picture = picture;
+            this.state = state;
+        }
+    }
+}
@@ -22,11 +22,13 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
 import android.graphics.Paint.Style;
+import android.graphics.Picture;
 import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.os.Build;
 import android.os.Bundle;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
@@ -42,10 +44,8 @@ import com.wdullaer.materialdatetimepicker.R;
 import com.wdullaer.materialdatetimepicker.date.MonthAdapter.CalendarDay;
 
 import java.security.InvalidParameterException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * A calendar-like view displaying a specified month and the appropriate selectable day numbers
@@ -62,6 +62,12 @@ public abstract class MonthView extends View {
 
     private static final int SELECTED_CIRCLE_ALPHA = 255;
 
+    // Flags describing the state of a day, stored in mDayStates
+    protected static final int DAY_STATE_DISABLED = 1;
+    protected static final int DAY_STATE_HIGHLIGHTED = 1 << 1;
+    protected static final int DAY_STATE_TODAY = 1 << 2;
+    protected static final int DAY_STATE_SELECTED = 1 << 3;
+
     protected static int DAY_SEPARATOR_WIDTH = 1;
     protected static int MINI_DAY_NUMBER_TEXT_SIZE;
     protected static int MONTH_LABEL_TEXT_SIZE;
@@ -83,9 +89,14 @@ public abstract class MonthView extends View {
     protected Paint mMonthNumPaint;
     protected Paint mMonthTitlePaint;
     protected Paint mSelectedCirclePaint;
+    // Used to draw the highlights of days in a custom highlight category
+    protected Paint mHighlightPaint;
     protected Paint mMonthDayLabelPaint;
+    // Copies of mMonthNumPaint configured for every combination of DAY_STATE flags
+    private final Paint[] mDayNumberPaints = new Paint[DAY_STATE_SELECTED << 1];
 
-    private final StringBuilder mStringBuilder;
+    // The localised month and year, formatted once per month in setMonthParams
+    private String mMonthTitle;
 
     protected int mMonth;
 
@@ -106,6 +117,11 @@ public abstract class MonthView extends View {
     protected int mNumDays = DEFAULT_NUM_DAYS;
     // The number of days + a spot for week number if it is displayed
     protected int mNumCells = mNumDays;
+    // The DAY_STATE flags of each day in this month, indexed by day number - 1
+    // This is computed in setMonthParams, so drawing does not need to query the controller
+    protected final int[] mDayStates = new int[31];
+    // The bitmask of the highlight categories of each day in this month, indexed by day number - 1
+    protected final int[] mDayHighlights = new int[31];
 
     private final Calendar mCalendar;
     protected final Calendar mDayLabelCalendar;
@@ -127,7 +143,14 @@ public abstract class MonthView extends View {
     protected int mDisabledDayTextColor;
     protected int mMonthTitleColor;
 
-    private SimpleDateFormat weekDayLabelFormatter;
+    private DayLabels mDayLabels;
+
+    // Optional cache of the recorded static layer, shared by the MonthViews of an adapter
+    private MonthRenderCache mRenderCache;
+    // The state a recording in mRenderCache depends on, see getRecordingState()
+    private int[] mRecordingState = new int[0];
+    // Whether a subclass overrides the deprecated isHighlighted(int, int, int)
+    private final boolean mOverridesIsHighlighted = overridesIsHighlighted(getClass());
 
     public MonthView(Context context) {
         this(context, null, null);
@@ -160,7 +183,7 @@ public abstract class MonthView extends View {
         mTodayNumberColor = mController.getAccentColor();
         mMonthTitleColor = ContextCompat.getColor(context, R.color.mdtp_white);
 
-        mStringBuilder = new StringBuilder(50);
+        mDayLabels = DayLabels.get(mController.getLocale());
 
         MINI_DAY_NUMBER_TEXT_SIZE = res.getDimensionPixelSize(R.dimen.mdtp_day_number_size);
         MONTH_LABEL_TEXT_SIZE = res.getDimensionPixelSize(R.dimen.mdtp_month_label_size);
@@ -256,6 +279,8 @@ public abstract class MonthView extends View {
         mSelectedCirclePaint.setStyle(Style.FILL);
         mSelectedCirclePaint.setAlpha(SELECTED_CIRCLE_ALPHA);
 
+        mHighlightPaint = new Paint(mSelectedCirclePaint);
+
         mMonthDayLabelPaint = new Paint();
         mMonthDayLabelPaint.setAntiAlias(true);
         mMonthDayLabelPaint.setTextSize(MONTH_DAY_LABEL_TEXT_SIZE);
@@ -271,13 +296,113 @@ public abstract class MonthView extends View {
         mMonthNumPaint.setStyle(Style.FILL);
         mMonthNumPaint.setTextAlign(Align.CENTER);
         mMonthNumPaint.setFakeBoldText(false);
+
+        Typeface normal = Typeface.create(Typeface.DEFAULT, Typeface.NORMAL);
+        Typeface bold = Typeface.create(Typeface.DEFAULT, Typeface.BOLD);
+        for (int state = 0; state < mDayNumberPaints.length; state++) {
+            mDayNumberPaints[state] = createDayNumberPaint(state, normal, bold);
+        }
+    }
+
+    private Paint createDayNumberPaint(int state, Typeface normal, Typeface bold) {
+        boolean selected = (state & DAY_STATE_SELECTED) != 0;
+        boolean highlighted = (state & DAY_STATE_HIGHLIGHTED) != 0;
+        Paint paint = new Paint(mMonthNumPaint);
+        paint.setTypeface(highlighted && !selected ? bold : normal);
+
+        // gray out the day number if it's outside the range.
+        if ((state & DAY_STATE_DISABLED) != 0) {
+            paint.setColor(mDisabledDayTextColor);
+        } else if (selected) {
+            paint.setTypeface(bold);
+            paint.setColor(mSelectedDayTextColor);
+        } else if ((state & DAY_STATE_TODAY) != 0) {
+            paint.setColor(mTodayNumberColor);
+        } else {
+            paint.setColor(highlighted ? mHighlightedDayTextColor : mDayTextColor);
+        }
+        return paint;
+    }
+
+    /**
+     * @param state The DAY_STATE flags of a day
+     * @return The Paint to draw the number of a day in the given state
+     */
+    protected Paint getDayNumberPaint(int state) {
+        return mDayNumberPaints[state];
+    }
+
+    /**
+     * Swaps the controller of this view, used when a pooled view is reused by another dialog
+     * The new controller must have the same version, theme, accent color, locale and timezone.
+     * @param controller the new controller, or null while the view sits in a pool
+     */
+    void setController(@Nullable DatePickerController controller) {
+        mController = controller;
+    }
+
+    /**
+     * Enables drawing the static layer of this view from a recording in the given cache
+     * @param renderCache the cache to use, or null to draw everything on every frame
+     */
+    void setRenderCache(@Nullable MonthRenderCache renderCache) {
+        mRenderCache = renderCache;
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        drawMonthTitle(canvas);
-        drawMonthDayLabels(canvas);
-        drawMonthNums(canvas);
+        if (mRenderCache == null || !canDrawPicture(canvas) || !hasDefaultDrawing()) {
+            drawMonthTitle(canvas);
+            drawMonthDayLabels(canvas);
+            drawMonthNums(canvas);
+            return;
+        }
+        int[] state = getRecordingState();
+        Picture picture = mRenderCache.get(mYear, mMonth, mWidth, mSelectedDay, state);
+        if (picture == null) {
+            // Record everything but the selected day, which is drawn on top of the recording
+            picture = new Picture();
+            Canvas recording = picture.beginRecording(getWidth(), getHeight());
+            drawMonthTitle(recording);
+            drawMonthDayLabels(recording);
+            drawMonthNums(recording, mSelectedDay);
+            picture.endRecording();
+            mRenderCache.put(mYear, mMonth, mWidth, mSelectedDay, state, picture);
+        }
+        canvas.drawPicture(picture);
+        if (mSelectedDay > 0 && mSelectedDay <= mNumCells) drawMonthDay(canvas, mSelectedDay);
+    }
+
+    /**
+     * Collects everything the static layer depends on besides the month, width and selected day:
+     * the flags (without the selection) and highlights of every day, followed by the colors of
+     * the highlight categories used in this month. The array is reused while its size is the same.
+     */
+    private int[] getRecordingState() {
+        int categories = 0;
+        for (int day = 1; day <= mNumCells; day++) categories |= mDayHighlights[day - 1];
+        int size = 2 * mNumCells + Integer.bitCount(categories);
+        if (mRecordingState.length != size) mRecordingState = new int[size];
+        int i = 0;
+        for (int day = 1; day <= mNumCells; day++) {
+            mRecordingState[i++] = mDayStates[day - 1] & ~DAY_STATE_SELECTED;
+            mRecordingState[i++] = mDayHighlights[day - 1];
+        }
+        for (int mask = categories; mask != 0; mask &= mask - 1) {
+            mRecordingState[i++] = mController.getHighlightColor(Integer.numberOfTrailingZeros(mask));
+        }
+        return mRecordingState;
+    }
+
+    // The recording bypasses the overridable drawMonthNums(Canvas), so subclasses of
+    // SimpleMonthView could draw differently with the cache on. They are always drawn directly.
+    private boolean hasDefaultDrawing() {
+        return getClass() == SimpleMonthView.class;
+    }
+
+    // Hardware accelerated canvases only support drawPicture from API 23
+    private static boolean canDrawPicture(Canvas canvas) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M || !canvas.isHardwareAccelerated();
     }
 
     private int mDayOfWeekStart = 0;
@@ -294,6 +419,7 @@ public abstract class MonthView extends View {
         }
 
         mSelectedDay = selectedDay;
+        mDayLabels = DayLabels.get(mController.getLocale());
 
         // Allocate space for caching the day numbers and focus values
         mMonth = month;
@@ -318,6 +444,8 @@ public abstract class MonthView extends View {
         }
 
         mNumCells = mCalendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        mMonthTitle = DateFormatCache.getMonthTitle(getContext(), mController.getLocale(),
+                mController.getTimeZone(), mYear, mMonth);
         for (int i = 0; i < mNumCells; i++) {
             final int day = i + 1;
             if (sameDay(day, today)) {
@@ -326,14 +454,76 @@ public abstract class MonthView extends View {
             }
         }
         mNumRows = calculateNumRows();
+        updateDayStates();
 
         // Invalidate cached accessibility information.
         mTouchHelper.invalidateRoot();
     }
 
-    @SuppressWarnings("unused")
+    /**
+     * Changes the selected day without recomputing the state of the other days
+     * @param day the selected day number in the current month, or -1 if no day is selected
+     */
     public void setSelectedDay(int day) {
+        if (day == mSelectedDay) return;
+        if (mSelectedDay > 0 && mSelectedDay <= mNumCells) {
+            mDayStates[mSelectedDay - 1] &= ~DAY_STATE_SELECTED;
+        }
         mSelectedDay = day;
+        if (day > 0 && day <= mNumCells) {
+            mDayStates[day - 1] |= DAY_STATE_SELECTED;
+        }
+        // Invalidate cached accessibility information.
+        mTouchHelper.invalidateRoot();
+    }
+
+    /**
+     * Computes the DAY_STATE flags of every day in the current month
+     * This queries the controller once per day, so it should only be called when the month or the
+     * constraints of the picker change. The highlights of the whole month are fetched in one call.
+     */
+    protected void updateDayStates() {
+        mController.getHighlightedDaysOfMonth(mYear, mMonth, mDayHighlights);
+        for (int day = 1; day <= mNumCells; day++) {
+            if (mOverridesIsHighlighted) {
+                // The override decides whether the day is highlighted, the controller keeps the categories
+                boolean highlighted = isHighlighted(mYear, mMonth, day);
+                if (!highlighted) mDayHighlights[day - 1] = 0;
+                else if (mDayHighlights[day - 1] == 0) mDayHighlights[day - 1] = 1 << HighlightedDays.DEFAULT_CATEGORY;
+            }
+            int state = 0;
+            if (mController.isOutOfRange(mYear, mMonth, day)) state |= DAY_STATE_DISABLED;
+            if (mDayHighlights[day - 1] != 0) state |= DAY_STATE_HIGHLIGHTED;
+            if (mHasToday && mToday == day) state |= DAY_STATE_TODAY;
+            if (mSelectedDay == day) state |= DAY_STATE_SELECTED;
+            mDayStates[day - 1] = state;
+        }
+    }
+
+    /**
+     * @param day the day number in the current month
+     * @return the DAY_STATE flags of the given day
+     */
+    protected int getDayState(int day) {
+        return day > 0 && day <= mNumCells ? mDayStates[day - 1] : DAY_STATE_DISABLED;
+    }
+
+    /**
+     * @param day the day number in the current month
+     * @return the bitmask of the highlight categories of the given day, 0 if it isn't highlighted
+     */
+    protected int getDayHighlights(int day) {
+        return day > 0 && day <= mNumCells ? mDayHighlights[day - 1] : 0;
+    }
+
+    /**
+     * @param category the index of a highlight category
+     * @return the Paint to draw the highlight of a day in the given category
+     */
+    protected Paint getHighlightPaint(int category) {
+        if (category == HighlightedDays.DEFAULT_CATEGORY) return mSelectedCirclePaint;
+        mHighlightPaint.setColor(mController.getHighlightColor(category));
+        return mHighlightPaint;
     }
 
     private int calculateNumRows() {
@@ -401,27 +591,12 @@ public abstract class MonthView extends View {
                 : MONTH_HEADER_SIZE_V2;
     }
 
-    @NonNull
-    private String getMonthAndYearString() {
-        Locale locale = mController.getLocale();
-        String pattern = "MMMM yyyy";
-
-        if (Build.VERSION.SDK_INT < 18) pattern = getContext().getResources().getString(R.string.mdtp_date_v1_monthyear);
-        else pattern = DateFormat.getBestDateTimePattern(locale, pattern);
-
-        SimpleDateFormat formatter = new SimpleDateFormat(pattern, locale);
-        formatter.setTimeZone(mController.getTimeZone());
-        formatter.applyLocalizedPattern(pattern);
-        mStringBuilder.setLength(0);
-        return formatter.format(mCalendar.getTime());
-    }
-
     protected void drawMonthTitle(Canvas canvas) {
         int x = mWidth / 2;
         int y = mController.getVersion() == DatePickerDialog.Version.VERSION_1
                 ? (getMonthHeaderSize() - MONTH_DAY_LABEL_TEXT_SIZE) / 2
                 : getMonthHeaderSize() / 2 - MONTH_DAY_LABEL_TEXT_SIZE;
-        canvas.drawText(getMonthAndYearString(), x, y, mMonthTitlePaint);
+        canvas.drawText(mMonthTitle, x, y, mMonthTitlePaint);
     }
 
     protected void drawMonthDayLabels(Canvas canvas) {
@@ -431,10 +606,8 @@ public abstract class MonthView extends View {
         for (int i = 0; i < mNumDays; i++) {
             int x = (2 * i + 1) * dayWidthHalf + mEdgePadding;
 
-            int calendarDay = (i + mWeekStart) % mNumDays;
-            mDayLabelCalendar.set(Calendar.DAY_OF_WEEK, calendarDay);
-            String weekString = getWeekDayLabel(mDayLabelCalendar);
-            canvas.drawText(weekString, x, y, mMonthDayLabelPaint);
+            int calendarDay = (i + mWeekStart - 1) % mNumDays + 1;
+            canvas.drawText(mDayLabels.getWeekDayLabel(calendarDay), x, y, mMonthDayLabelPaint);
         }
     }
 
@@ -445,29 +618,31 @@ public abstract class MonthView extends View {
      * @param canvas The canvas to draw on
      */
     protected void drawMonthNums(Canvas canvas) {
+        drawMonthNums(canvas, -1);
+    }
+
+    private void drawMonthNums(Canvas canvas, int skippedDay) {
+        for (int dayNumber = 1; dayNumber <= mNumCells; dayNumber++) {
+            if (dayNumber != skippedDay) drawMonthDay(canvas, dayNumber);
+        }
+    }
+
+    private void drawMonthDay(Canvas canvas, int dayNumber) {
+        int cell = findDayOffset() + dayNumber - 1;
         int y = (((mRowHeight + MINI_DAY_NUMBER_TEXT_SIZE) / 2) - DAY_SEPARATOR_WIDTH)
-                + getMonthHeaderSize();
+                + getMonthHeaderSize() + (cell / mNumDays) * mRowHeight;
         // TODO: look at the calculations used by the framework picker to properly align this with the buttons
         final int dayWidthHalf = (mWidth - mEdgePadding * 2) / (mNumDays * 2);
-        int j = findDayOffset();
-        for (int dayNumber = 1; dayNumber <= mNumCells; dayNumber++) {
-            final int x = (2 * j + 1) * dayWidthHalf + mEdgePadding;
-
-            int yRelativeToDay = (mRowHeight + MINI_DAY_NUMBER_TEXT_SIZE) / 2 - DAY_SEPARATOR_WIDTH;
+        final int x = (2 * (cell % mNumDays) + 1) * dayWidthHalf + mEdgePadding;
 
-            final int startX = x - dayWidthHalf;
-            final int stopX = x + dayWidthHalf;
-            final int startY = y - yRelativeToDay;
-            final int stopY = startY + mRowHeight;
+        int yRelativeToDay = (mRowHeight + MINI_DAY_NUMBER_TEXT_SIZE) / 2 - DAY_SEPARATOR_WIDTH;
 
-            drawMonthDay(canvas, mYear, mMonth, dayNumber, x, y, startX, stopX, startY, stopY);
+        final int startX = x - dayWidthHalf;
+        final int stopX = x + dayWidthHalf;
+        final int startY = y - yRelativeToDay;
+        final int stopY = startY + mRowHeight;
 
-            j++;
-            if (j == mNumDays) {
-                j = 0;
-                y += mRowHeight;
-            }
-        }
+        drawMonthDay(canvas, mYear, mMonth, dayNumber, x, y, startX, stopX, startY, stopY);
     }
 
     /**
@@ -557,58 +732,33 @@ public abstract class MonthView extends View {
      * @param month as an int
      * @param day as an int
      * @return true if the given date should be highlighted
+     * @deprecated the highlights of a month are now fetched in one call, use
+     * {@link #getDayHighlights(int)} to read them. Overrides of this method are still honored, at
+     * the cost of one call per day whenever the month is bound.
      */
+    @Deprecated
     protected boolean isHighlighted(int year, int month, int day) {
         return mController.isHighlighted(year, month, day);
     }
 
-    /**
-     * Return a 1 or 2 letter String for use as a weekday label
-     *
-     * @param day The day for which to generate a label
-     * @return The weekday label
-     */
-    private String getWeekDayLabel(Calendar day) {
-        Locale locale = mController.getLocale();
-
-        // Localised short version of the string is not available on API < 18
-        if (Build.VERSION.SDK_INT < 18) {
-            String dayName = new SimpleDateFormat("E", locale).format(day.getTime());
-            String dayLabel = dayName.toUpperCase(locale).substring(0, 1);
-
-            // Chinese labels should be fetched right to left
-            if (locale.equals(Locale.CHINA) || locale.equals(Locale.CHINESE) || locale.equals(Locale.SIMPLIFIED_CHINESE) || locale.equals(Locale.TRADITIONAL_CHINESE)) {
-                int len = dayName.length();
-                dayLabel = dayName.substring(len - 1, len);
+    private static boolean overridesIsHighlighted(Class<?> type) {
+        for (Class<?> c = type; c != MonthView.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("isHighlighted", int.class, int.class, int.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Keep looking in the superclass
             }
-
-            // Most hebrew labels should select the second to last character
-            if (locale.getLanguage().equals("he") || locale.getLanguage().equals("iw")) {
-                if (mDayLabelCalendar.get(Calendar.DAY_OF_WEEK) != Calendar.SATURDAY) {
-                    int len = dayName.length();
-                    dayLabel = dayName.substring(len - 2, len - 1);
-                } else {
-                    // I know this is duplication, but it makes the code easier to grok by
-                    // having all hebrew code in the same block
-                    dayLabel = dayName.toUpperCase(locale).substring(0, 1);
-                }
-            }
-
-            // Catalan labels should be two digits in lowercase
-            if (locale.getLanguage().equals("ca"))
-                dayLabel = dayName.toLowerCase().substring(0, 2);
-
-            // Correct single character label in Spanish is X
-            if (locale.getLanguage().equals("es") && day.get(Calendar.DAY_OF_WEEK) == Calendar.WEDNESDAY)
-                dayLabel = "X";
-
-            return dayLabel;
         }
-        // Getting the short label is a one liner on API >= 18
-        if (weekDayLabelFormatter == null) {
-            weekDayLabelFormatter = new SimpleDateFormat("EEEEE", locale);
-        }
-        return weekDayLabelFormatter.format(day.getTime());
+        return false;
+    }
+
+    /**
+     * @param day The day number
+     * @return The localised representation of the day number
+     */
+    protected String getDayNumberLabel(int day) {
+        return mDayLabels.getDayNumber(day);
     }
 
     /**
@@ -706,7 +856,7 @@ public abstract class MonthView extends View {
             node.addAction(AccessibilityNodeInfo.ACTION_CLICK);
 
             // Flag non-selectable dates as disabled
-            node.setEnabled(!mController.isOutOfRange(mYear, mMonth, virtualViewId));
+            node.setEnabled((getDayState(virtualViewId) & DAY_STATE_DISABLED) == 0);
 
             if (virtualViewId == mSelectedDay) {
                 node.setSelected(true);
@@ -0,0 +1,156 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process wide pools of MonthViews, shared by the DatePickerDialogs that opt in with
+ * {@link DatePickerDialog#setSharedMonthViewPoolEnabled(boolean)}
+ * A MonthView bakes the version, theme, accent color, locale and timezone of its dialog and the
+ * dimensions of the current configuration into its Paints and Calendars, so every combination of
+ * those gets its own pool. Pooled views are created with a context built from the application
+ * context, so they don't keep an Activity alive. That context copies the theme and configuration
+ * of the Activity the pool was first requested from, including per-Activity overrides such as the
+ * locale, night mode or font scale, which are also part of the key of the pool.
+ * Only the most recently used pools are kept, and all of them are dropped when the app is moved
+ * to the background.
+ * All methods must be called from the main thread.
+ */
+final class MonthViewPool {
+    // Enough to fill a vertical DayPickerView on a tablet, plus the views RecyclerView keeps around
+    static final int MAX_POOLED_VIEWS = 8;
+    // A picker is usually shown with one or two configurations, e.g. portrait and landscape
+    static final int MAX_POOLS = 4;
+    // MonthAdapter only has a single view type
+    private static final int VIEW_TYPE = 0;
+
+    private static final LinkedHashMap<String, Entry> sPools = new LinkedHashMap<String, Entry>(MAX_POOLS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= MAX_POOLS) return false;
+            eldest.getValue().pool.clear();
+            return true;
+        }
+    };
+    private static boolean sTrimCallbacksRegistered = false;
+
+    private MonthViewPool() {}
+
+    /**
+     * @param context the context the views will be displayed in
+     * @param controller the dialog that will display the views
+     * @return the pool of MonthViews matching the configuration of the dialog
+     */
+    static @NonNull RecyclerView.RecycledViewPool get(@NonNull Context context, @NonNull DatePickerController controller) {
+        return getEntry(context, controller).pool;
+    }
+
+    /**
+     * @param context the context the views will be displayed in
+     * @param controller the dialog that will display the views
+     * @return a context to create pooled MonthViews with, which has the theme and configuration
+     * of the given context without retaining it
+     */
+    static @NonNull Context getContext(@NonNull Context context, @NonNull DatePickerController controller) {
+        return getEntry(context, controller).context;
+    }
+
+    private static @NonNull Entry getEntry(@NonNull Context context, @NonNull DatePickerController controller) {
+        registerTrimCallbacks(context);
+        String key = getKey(context, controller);
+        Entry entry = sPools.get(key);
+        if (entry == null) {
+            entry = new Entry(createPoolContext(context));
+            sPools.put(key, entry);
+        }
+        return entry;
+    }
+
+    private static @NonNull Context createPoolContext(@NonNull Context context) {
+        Context appContext = context.getApplicationContext();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            appContext = appContext.createConfigurationContext(context.getResources().getConfiguration());
+        }
+        ContextThemeWrapper output = new ContextThemeWrapper(appContext, 0);
+        // Copies the attributes of the theme, the theme of the Activity itself is not retained
+        output.getTheme().setTo(context.getTheme());
+        return output;
+    }
+
+    private static void registerTrimCallbacks(@NonNull Context context) {
+        if (sTrimCallbacksRegistered) return;
+        sTrimCallbacksRegistered = true;
+        context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                if (level >= TRIM_MEMORY_UI_HIDDEN) clear();
+            }
+
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+
+            @Override
+            public void onLowMemory() {
+                clear();
+            }
+        });
+    }
+
+    /**
+     * Fills the pool of the given dialog while the main thread is idle
+     * A single MonthView is created per idle callback, so prewarming never causes a long frame.
+     * @param context the context the views will be displayed in, it is not retained
+     * @param controller the dialog that will display the views
+     */
+    static void prewarm(@NonNull Context context, @NonNull DatePickerController controller) {
+        final Entry entry = getEntry(context, controller);
+        final RecyclerView.RecycledViewPool pool = entry.pool;
+        final Context poolContext = entry.context;
+        final MonthAdapter adapter = new SimpleMonthAdapter(controller);
+        Looper.myQueue().addIdleHandler(() -> {
+            if (pool.getRecycledViewCount(VIEW_TYPE) >= MAX_POOLED_VIEWS) return false;
+            MonthAdapter.MonthViewHolder holder = adapter.createViewHolder(new FrameLayout(poolContext), VIEW_TYPE);
+            adapter.onViewRecycled(holder);
+            pool.putRecycledView(holder);
+            return pool.getRecycledViewCount(VIEW_TYPE) < MAX_POOLED_VIEWS;
+        });
+    }
+
+    /**
+     * Drops all pooled views, for instance when the system is low on memory
+     */
+    static void clear() {
+        for (Entry entry : sPools.values()) entry.pool.clear();
+        sPools.clear();
+    }
+
+    private static @NonNull String getKey(@NonNull Context context, @NonNull DatePickerController controller) {
+        Configuration configuration = context.getResources().getConfiguration();
+        return controller.getVersion() + "|" + controller.isThemeDark() + "|"
+                + controller.getAccentColor() + "|" + controller.getLocale() + "|"
+                + controller.getTimeZone().getID() + "|" + configuration.orientation + "|"
+                + configuration.screenWidthDp + "x" + configuration.screenHeightDp + "|"
+                + context.getResources().getDisplayMetrics().densityDpi + "|"
+                + configuration.fontScale + "|" + configuration.uiMode;
+    }
+
+    private static final class Entry {
+        final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+        final Context context;
+
+        Entry(@NonNull Context context) {
+            this.context = context;
+            pool.setMaxRecycledViews(VIEW_TYPE, MAX_POOLED_VIEWS);
+        }
+    }
+}
@@ -18,7 +18,6 @@ package com.wdullaer.materialdatetimepicker.date;
 
 import android.content.Context;
 import android.graphics.Canvas;
-import android.graphics.Typeface;
 import android.util.AttributeSet;
 
 public class SimpleMonthView extends MonthView {
@@ -30,31 +29,28 @@ public class SimpleMonthView extends MonthView {
     @Override
     public void drawMonthDay(Canvas canvas, int year, int month, int day,
                              int x, int y, int startX, int stopX, int startY, int stopY) {
-        if (mSelectedDay == day) {
+        int state = getDayState(day);
+        boolean selected = (state & DAY_STATE_SELECTED) != 0;
+        boolean highlighted = (state & DAY_STATE_HIGHLIGHTED) != 0;
+
+        if (selected) {
             canvas.drawCircle(x, y - (MINI_DAY_NUMBER_TEXT_SIZE / 3), DAY_SELECTED_CIRCLE_SIZE,
                     mSelectedCirclePaint);
         }
 
-        if (isHighlighted(year, month, day) && mSelectedDay != day) {
-            canvas.drawCircle(x, y + MINI_DAY_NUMBER_TEXT_SIZE - DAY_HIGHLIGHT_CIRCLE_MARGIN,
-                    DAY_HIGHLIGHT_CIRCLE_SIZE, mSelectedCirclePaint);
-            mMonthNumPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
-        } else {
-            mMonthNumPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.NORMAL));
-        }
-
-        // gray out the day number if it's outside the range.
-        if (mController.isOutOfRange(year, month, day)) {
-            mMonthNumPaint.setColor(mDisabledDayTextColor);
-        } else if (mSelectedDay == day) {
-            mMonthNumPaint.setTypeface(Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
-            mMonthNumPaint.setColor(mSelectedDayTextColor);
-        } else if (mHasToday && mToday == day) {
-            mMonthNumPaint.setColor(mTodayNumberColor);
-        } else {
-            mMonthNumPaint.setColor(isHighlighted(year, month, day) ? mHighlightedDayTextColor : mDayTextColor);
+        if (highlighted && !selected) {
+            // Draw one dot per highlight category, centered below the day number
+            int categories = getDayHighlights(day);
+            int spacing = DAY_HIGHLIGHT_CIRCLE_SIZE * 3;
+            int dotX = x - (Integer.bitCount(categories) - 1) * spacing / 2;
+            int dotY = y + MINI_DAY_NUMBER_TEXT_SIZE - DAY_HIGHLIGHT_CIRCLE_MARGIN;
+            for (; categories != 0; categories &= categories - 1) {
+                int category = Integer.numberOfTrailingZeros(categories);
+                canvas.drawCircle(dotX, dotY, DAY_HIGHLIGHT_CIRCLE_SIZE, getHighlightPaint(category));
+                dotX += spacing;
+            }
         }
 
-        canvas.drawText(String.format(mController.getLocale(), "%d", day), x, y, mMonthNumPaint);
+        canvas.drawText(getDayNumberLabel(day), x, y, getDayNumberPaint(state));
     }
 }
@@ -139,15 +139,18 @@ public class AmPmCirclesView extends View {
 
         int squaredYDistance = (int) ((yCoord - mAmPmYCenter)*(yCoord - mAmPmYCenter));
 
-        int distanceToAmCenter =
-                (int) Math.sqrt((xCoord - mAmXCenter)*(xCoord - mAmXCenter) + squaredYDistance);
-        if (distanceToAmCenter <= mAmPmCircleRadius && !mAmDisabled) {
+        // Compare squared distances, the truncated distance is at most the radius below (radius + 1)^2
+        float squaredTouchRadius = (mAmPmCircleRadius + 1) * (mAmPmCircleRadius + 1);
+
+        float squaredDistanceToAmCenter =
+                (xCoord - mAmXCenter)*(xCoord - mAmXCenter) + squaredYDistance;
+        if (squaredDistanceToAmCenter < squaredTouchRadius && !mAmDisabled) {
             return AM;
         }
 
-        int distanceToPmCenter =
-                (int) Math.sqrt((xCoord - mPmXCenter)*(xCoord - mPmXCenter) + squaredYDistance);
-        if (distanceToPmCenter <= mAmPmCircleRadius && !mPmDisabled) {
+        float squaredDistanceToPmCenter =
+                (xCoord - mPmXCenter)*(xCoord - mPmXCenter) + squaredYDistance;
+        if (squaredDistanceToPmCenter < squaredTouchRadius && !mPmDisabled) {
             return PM;
         }
 
@@ -5,9 +5,6 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.util.Arrays;
-import java.util.TreeSet;
-
 import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.HOUR_INDEX;
 import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.MINUTE_INDEX;
 
@@ -18,9 +15,14 @@ import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.MINUTE_I
  */
 
 class DefaultTimepointLimiter implements TimepointLimiter {
-    private TreeSet<Timepoint> mSelectableTimes = new TreeSet<>();
-    private TreeSet<Timepoint> mDisabledTimes = new TreeSet<>();
-    private TreeSet<Timepoint> exclusiveSelectableTimes = new TreeSet<>();
+    // Bitsets of the seconds of the day, see TimepointSet
+    private TimepointSet mSelectableTimes = new TimepointSet();
+    private TimepointSet mDisabledTimes = new TimepointSet();
+    private TimepointSet exclusiveSelectableTimes = new TimepointSet();
+    // Selectable times generated by setTimeInterval(), null if no interval is set
+    private TimepointInterval mInterval;
+    // Whether there is any selectable time that is not disabled
+    private boolean mHasExclusiveSelectableTimes = false;
     private Timepoint mMinTime;
     private Timepoint mMaxTime;
 
@@ -30,17 +32,24 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     public DefaultTimepointLimiter(Parcel in) {
         mMinTime = in.readParcelable(Timepoint.class.getClassLoader());
         mMaxTime = in.readParcelable(Timepoint.class.getClassLoader());
-        mSelectableTimes.addAll(Arrays.asList(in.createTypedArray(Timepoint.CREATOR)));
-        mDisabledTimes.addAll(Arrays.asList(in.createTypedArray(Timepoint.CREATOR)));
-        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, mDisabledTimes);
+        mSelectableTimes.addAll(in.createTypedArray(Timepoint.CREATOR));
+        mDisabledTimes.addAll(in.createTypedArray(Timepoint.CREATOR));
+        int hourInterval = in.readInt();
+        int minuteInterval = in.readInt();
+        int secondInterval = in.readInt();
+        if (hourInterval > 0) mInterval = new TimepointInterval(hourInterval, minuteInterval, secondInterval);
+        updateExclusiveSelectableTimes();
     }
 
     @Override
     public void writeToParcel(Parcel out, int flags) {
         out.writeParcelable(mMinTime, flags);
         out.writeParcelable(mMaxTime, flags);
-        out.writeTypedArray(mSelectableTimes.toArray(new Timepoint[mSelectableTimes.size()]), flags);
-        out.writeTypedArray(mDisabledTimes.toArray(new Timepoint[mDisabledTimes.size()]), flags);
+        out.writeTypedArray(mSelectableTimes.toArray(), flags);
+        out.writeTypedArray(mDisabledTimes.toArray(), flags);
+        out.writeInt(mInterval == null ? 0 : mInterval.getHourInterval());
+        out.writeInt(mInterval == null ? 0 : mInterval.getMinuteInterval());
+        out.writeInt(mInterval == null ? 0 : mInterval.getSecondInterval());
     }
 
     @Override
@@ -73,13 +82,23 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     }
 
     void setSelectableTimes(@NonNull Timepoint[] selectableTimes) {
-        mSelectableTimes.addAll(Arrays.asList(selectableTimes));
-        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, mDisabledTimes);
+        mSelectableTimes.addAll(selectableTimes);
+        updateExclusiveSelectableTimes();
     }
 
     void setDisabledTimes(@NonNull Timepoint[] disabledTimes) {
-        mDisabledTimes.addAll(Arrays.asList(disabledTimes));
-        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, mDisabledTimes);
+        mDisabledTimes.addAll(disabledTimes);
+        updateExclusiveSelectableTimes();
+    }
+
+    /**
+     * Makes all Timepoints whose hour, minute and second are multiples of the given intervals
+     * selectable, in addition to the ones passed to setSelectableTimes()
+     * This replaces the interval of a previous call
+     */
+    void setTimeInterval(int hourInterval, int minuteInterval, int secondInterval) {
+        mInterval = new TimepointInterval(hourInterval, minuteInterval, secondInterval);
+        updateExclusiveSelectableTimes();
     }
 
     @Nullable Timepoint getMinTime() {
@@ -91,65 +110,126 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     }
 
     @NonNull Timepoint[] getSelectableTimes() {
-        return mSelectableTimes.toArray(new Timepoint[mSelectableTimes.size()]);
+        return mSelectableTimes.toArray();
     }
 
     @NonNull Timepoint[] getDisabledTimes() {
-        return mDisabledTimes.toArray(new Timepoint[mDisabledTimes.size()]);
+        return mDisabledTimes.toArray();
     }
 
-    @NonNull private TreeSet<Timepoint> getExclusiveSelectableTimes(@NonNull TreeSet<Timepoint> selectable, @NonNull TreeSet<Timepoint> disabled) {
-        TreeSet<Timepoint> output = new TreeSet<>(selectable);
+    @NonNull private TimepointSet getExclusiveSelectableTimes(@NonNull TimepointSet selectable, @NonNull TimepointSet disabled) {
+        TimepointSet output = new TimepointSet(selectable);
         output.removeAll(disabled);
         return output;
     }
 
+    private void updateExclusiveSelectableTimes() {
+        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, mDisabledTimes);
+        mHasExclusiveSelectableTimes = !exclusiveSelectableTimes.isEmpty()
+                || getIntervalCeiling(0) != TimepointSet.NONE;
+    }
+
+    /*
+     * The exclusive selectable times are the union of exclusiveSelectableTimes and the times
+     * matching mInterval, minus mDisabledTimes. The methods below query that union without
+     * materializing the times of the interval.
+     */
+
+    private boolean isExclusiveSelectable(int second) {
+        return exclusiveSelectableTimes.contains(second)
+                || (mInterval != null && mInterval.contains(second) && !mDisabledTimes.contains(second));
+    }
+
+    private boolean isExclusiveSelectableHour(int hour) {
+        if (exclusiveSelectableTimes.containsHour(hour)) return true;
+        if (mInterval == null || !mInterval.containsHour(hour)) return false;
+        if (!mDisabledTimes.containsHour(hour)) return true;
+        int second = getIntervalCeiling(hour * 3600);
+        return second != TimepointSet.NONE && second / 3600 == hour;
+    }
+
+    private boolean isExclusiveSelectableMinute(int hour, int minute) {
+        if (exclusiveSelectableTimes.containsMinute(hour, minute)) return true;
+        if (mInterval == null || !mInterval.containsMinute(hour, minute)) return false;
+        if (!mDisabledTimes.containsMinute(hour, minute)) return true;
+        int second = getIntervalCeiling(hour * 3600 + minute * 60);
+        return second != TimepointSet.NONE && second / 60 == hour * 60 + minute;
+    }
+
+    private int getExclusiveCeiling(int second) {
+        int output = exclusiveSelectableTimes.ceiling(second);
+        int interval = getIntervalCeiling(second);
+        if (output == TimepointSet.NONE) return interval;
+        if (interval == TimepointSet.NONE) return output;
+        return Math.min(output, interval);
+    }
+
+    private int getExclusiveFloor(int second) {
+        // NONE is -1, so it never wins
+        return Math.max(exclusiveSelectableTimes.floor(second), getIntervalFloor(second));
+    }
+
+    // The earliest time at or after second that matches the interval and is not disabled
+    // Every iteration skips a whole run of disabled seconds, so this is bounded by the number of runs
+    private int getIntervalCeiling(int second) {
+        if (mInterval == null) return TimepointSet.NONE;
+        int output = mInterval.ceiling(second);
+        while (output != TimepointSet.NONE && mDisabledTimes.contains(output)) {
+            int next = mDisabledTimes.nextAbsent(output + 1, TimepointSet.SECONDS_PER_DAY - 1, Timepoint.TYPE.SECOND);
+            if (next == TimepointSet.NONE) return TimepointSet.NONE;
+            output = mInterval.ceiling(next);
+        }
+        return output;
+    }
+
+    // The latest time at or before second that matches the interval and is not disabled
+    private int getIntervalFloor(int second) {
+        if (mInterval == null) return TimepointSet.NONE;
+        int output = mInterval.floor(second);
+        while (output != TimepointSet.NONE && mDisabledTimes.contains(output)) {
+            int previous = mDisabledTimes.previousAbsent(output - 1, 0, Timepoint.TYPE.SECOND);
+            if (previous == TimepointSet.NONE) return TimepointSet.NONE;
+            output = mInterval.floor(previous);
+        }
+        return output;
+    }
+
     @Override
     public boolean isOutOfRange(@Nullable Timepoint current, int index, @NonNull Timepoint.TYPE resolution) {
         if (current == null) return false;
 
         if (index == HOUR_INDEX) {
-            if (mMinTime != null && mMinTime.getHour() > current.getHour()) return true;
+            int hour = current.getHour();
+            if (mMinTime != null && mMinTime.getHour() > hour) return true;
 
-            if (mMaxTime != null && mMaxTime.getHour()+1 <= current.getHour()) return true;
+            if (mMaxTime != null && mMaxTime.getHour()+1 <= hour) return true;
 
-            if (!exclusiveSelectableTimes.isEmpty()) {
-                Timepoint ceil = exclusiveSelectableTimes.ceiling(current);
-                Timepoint floor = exclusiveSelectableTimes.floor(current);
-                return !(current.equals(ceil, Timepoint.TYPE.HOUR) || current.equals(floor, Timepoint.TYPE.HOUR));
-            }
+            if (mHasExclusiveSelectableTimes) return !isExclusiveSelectableHour(hour);
 
             if (!mDisabledTimes.isEmpty() && resolution == Timepoint.TYPE.HOUR) {
-                Timepoint ceil = mDisabledTimes.ceiling(current);
-                Timepoint floor = mDisabledTimes.floor(current);
-                return current.equals(ceil, Timepoint.TYPE.HOUR) || current.equals(floor, Timepoint.TYPE.HOUR);
+                return mDisabledTimes.containsHour(hour);
             }
 
             return false;
         }
         else if (index == MINUTE_INDEX) {
+            int second = current.toSeconds();
             if (mMinTime != null) {
-                Timepoint roundedMin = new Timepoint(mMinTime.getHour(), mMinTime.getMinute());
-                if (roundedMin.compareTo(current) > 0) return true;
+                int roundedMin = mMinTime.toSeconds() - mMinTime.getSecond();
+                if (roundedMin > second) return true;
             }
 
             if (mMaxTime != null) {
-                Timepoint roundedMax = new Timepoint(mMaxTime.getHour(), mMaxTime.getMinute(), 59);
-                if (roundedMax.compareTo(current) < 0) return true;
+                int roundedMax = mMaxTime.toSeconds() - mMaxTime.getSecond() + 59;
+                if (roundedMax < second) return true;
             }
 
-            if (!exclusiveSelectableTimes.isEmpty()) {
-                Timepoint ceil = exclusiveSelectableTimes.ceiling(current);
-                Timepoint floor = exclusiveSelectableTimes.floor(current);
-                return !(current.equals(ceil, Timepoint.TYPE.MINUTE) || current.equals(floor, Timepoint.TYPE.MINUTE));
+            if (mHasExclusiveSelectableTimes) {
+                return !isExclusiveSelectableMinute(current.getHour(), current.getMinute());
             }
 
             if (!mDisabledTimes.isEmpty() && resolution == Timepoint.TYPE.MINUTE) {
-                Timepoint ceil = mDisabledTimes.ceiling(current);
-                Timepoint floor = mDisabledTimes.floor(current);
-                boolean ceilExclude = current.equals(ceil, Timepoint.TYPE.MINUTE);
-                boolean floorExclude = current.equals(floor, Timepoint.TYPE.MINUTE);
-                return ceilExclude || floorExclude;
+                return mDisabledTimes.containsMinute(current.getHour(), current.getMinute());
             }
 
             return false;
@@ -158,23 +238,24 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     }
 
     public boolean isOutOfRange(@NonNull Timepoint current) {
-        if (mMinTime != null && mMinTime.compareTo(current) > 0) return true;
+        int second = current.toSeconds();
+        if (mMinTime != null && mMinTime.toSeconds() > second) return true;
 
-        if (mMaxTime != null && mMaxTime.compareTo(current) < 0) return true;
+        if (mMaxTime != null && mMaxTime.toSeconds() < second) return true;
 
-        if (!exclusiveSelectableTimes.isEmpty()) return !exclusiveSelectableTimes.contains(current);
+        if (mHasExclusiveSelectableTimes) return !isExclusiveSelectable(second);
 
-        return mDisabledTimes.contains(current);
+        return mDisabledTimes.contains(second);
     }
 
     @SuppressWarnings("SimplifiableIfStatement")
     @Override
     public boolean isAmDisabled() {
-        Timepoint midday = new Timepoint(12);
+        int midday = 12 * 3600;
 
-        if (mMinTime != null && mMinTime.compareTo(midday) >= 0) return true;
+        if (mMinTime != null && mMinTime.toSeconds() >= midday) return true;
 
-        if (!exclusiveSelectableTimes.isEmpty()) return exclusiveSelectableTimes.first().compareTo(midday) >= 0;
+        if (mHasExclusiveSelectableTimes) return getExclusiveCeiling(0) >= midday;
 
         return false;
     }
@@ -182,11 +263,11 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     @SuppressWarnings("SimplifiableIfStatement")
     @Override
     public boolean isPmDisabled() {
-        Timepoint midday = new Timepoint(12);
+        int midday = 12 * 3600;
 
-        if (mMaxTime != null && mMaxTime.compareTo(midday) < 0) return true;
+        if (mMaxTime != null && mMaxTime.toSeconds() < midday) return true;
 
-        if (!exclusiveSelectableTimes.isEmpty()) return exclusiveSelectableTimes.last().compareTo(midday) < 0;
+        if (mHasExclusiveSelectableTimes) return getExclusiveFloor(TimepointSet.SECONDS_PER_DAY - 1) < midday;
 
         return false;
     }
@@ -200,9 +281,9 @@ class DefaultTimepointLimiter implements TimepointLimiter {
         // type == SECOND: cannot change anything, return input
         if (type == Timepoint.TYPE.SECOND) return time;
 
-        if (!exclusiveSelectableTimes.isEmpty()) {
-            Timepoint floor = exclusiveSelectableTimes.floor(time);
-            Timepoint ceil = exclusiveSelectableTimes.ceiling(time);
+        if (mHasExclusiveSelectableTimes) {
+            Timepoint floor = toTimepoint(getExclusiveFloor(time.toSeconds()));
+            Timepoint ceil = toTimepoint(getExclusiveCeiling(time.toSeconds()));
 
             if (floor == null || ceil == null) {
                 Timepoint t = floor == null ? ceil : floor;
@@ -241,66 +322,73 @@ class DefaultTimepointLimiter implements TimepointLimiter {
             // if type matches resolution: cannot change anything, return input
             if (type != null && type == resolution) return time;
 
-            if (resolution == Timepoint.TYPE.SECOND) {
-                if (!mDisabledTimes.contains(time)) return time;
+            if (mDisabledTimes.contains(time.toSeconds(), resolution)) {
                 return searchValidTimePoint(time, type, resolution);
             }
-
-            if (resolution == Timepoint.TYPE.MINUTE) {
-                Timepoint ceil = mDisabledTimes.ceiling(time);
-                Timepoint floor = mDisabledTimes.floor(time);
-                boolean ceilDisabled = time.equals(ceil, Timepoint.TYPE.MINUTE);
-                boolean floorDisabled = time.equals(floor, Timepoint.TYPE.MINUTE);
-
-                if (ceilDisabled || floorDisabled) return searchValidTimePoint(time, type, resolution);
-                return time;
-            }
-
-            if (resolution == Timepoint.TYPE.HOUR) {
-                Timepoint ceil = mDisabledTimes.ceiling(time);
-                Timepoint floor = mDisabledTimes.floor(time);
-                boolean ceilDisabled = time.equals(ceil, Timepoint.TYPE.HOUR);
-                boolean floorDisabled = time.equals(floor, Timepoint.TYPE.HOUR);
-
-                if (ceilDisabled || floorDisabled) return searchValidTimePoint(time, type, resolution);
-                return time;
-            }
+            return time;
         }
 
         return time;
     }
 
+    /**
+     * Finds the nearest Timepoint that is not disabled at the given resolution, by stepping away
+     * from time in units of resolution, preferring the later Timepoint on a tie. Searching forward
+     * wraps around midnight. Like Timepoint.add(), searching backward only wraps around midnight
+     * when stepping whole hours from a whole hour. Neither direction leaves the current value of type.
+     * Runs of disabled units are skipped using the bitsets of mDisabledTimes, so this never walks
+     * the day one unit at a time.
+     */
     private Timepoint searchValidTimePoint(@NonNull Timepoint time, @Nullable Timepoint.TYPE type, @NonNull Timepoint.TYPE resolution) {
-        Timepoint forward = new Timepoint(time);
-        Timepoint backward = new Timepoint(time);
-        int iteration = 0;
-        int resolutionMultiplier = 1;
-        if (resolution == Timepoint.TYPE.MINUTE) resolutionMultiplier = 60;
-        if (resolution == Timepoint.TYPE.SECOND) resolutionMultiplier = 3600;
-
-        while (iteration < 24 * resolutionMultiplier) {
-            iteration++;
-            forward.add(resolution, 1);
-            backward.add(resolution, -1);
-
-            if (type == null || forward.get(type) == time.get(type)) {
-                Timepoint forwardCeil = mDisabledTimes.ceiling(forward);
-                Timepoint forwardFloor = mDisabledTimes.floor(forward);
-                if (!forward.equals(forwardCeil, resolution) && !forward.equals(forwardFloor, resolution))
-                    return forward;
-            }
+        int unit = getSeconds(resolution);
+        int units = TimepointSet.SECONDS_PER_DAY / unit;
+        int second = time.toSeconds();
+        int current = second / unit;
+
+        // The range of units in which the value of type does not change
+        int first = 0;
+        int last = units - 1;
+        boolean wrap = true;
+        if (type != null && type.ordinal() < resolution.ordinal()) {
+            int typeUnit = getSeconds(type);
+            first = (second - second % typeUnit) / unit;
+            last = first + typeUnit / unit - 1;
+            wrap = false;
+        }
 
-            if (type == null || backward.get(type) == time.get(type)) {
-                Timepoint backwardCeil = mDisabledTimes.ceiling(backward);
-                Timepoint backwardFloor = mDisabledTimes.floor(backward);
-                if (!backward.equals(backwardCeil, resolution) && !backward.equals(backwardFloor, resolution))
-                    return backward;
-            }
+        int forward = mDisabledTimes.nextAbsent(current + 1, last, resolution);
+        if (forward == TimepointSet.NONE && wrap) forward = mDisabledTimes.nextAbsent(first, current - 1, resolution);
+        int backward = mDisabledTimes.previousAbsent(current - 1, first, resolution);
+        if (backward == TimepointSet.NONE && wrap && resolution == Timepoint.TYPE.HOUR && second % 3600 == 0) {
+            backward = mDisabledTimes.previousAbsent(last, current + 1, resolution);
+        }
 
-            if (type != null && backward.get(type) != time.get(type) && forward.get(type) != time.get(type))
-                break;
+        int forwardDistance = (forward - current + units) % units;
+        int backwardDistance = (current - backward + units) % units;
+        if (forward != TimepointSet.NONE && (backward == TimepointSet.NONE || forwardDistance <= backwardDistance)) {
+            return toTimepoint((second + forwardDistance * unit) % TimepointSet.SECONDS_PER_DAY);
+        }
+        if (backward != TimepointSet.NONE) {
+            return toTimepoint((second - backwardDistance * unit + TimepointSet.SECONDS_PER_DAY) % TimepointSet.SECONDS_PER_DAY);
         }
         // If this step is reached, the user has disabled all timepoints
         return time;
     }
+
+    private static int getSeconds(@NonNull Timepoint.TYPE type) {
+        switch (type) {
+            case HOUR:
+                return 3600;
+            case MINUTE:
+                return 60;
+            case SECOND:
+            default:
+                return 1;
+        }
+    }
+
+    private static @Nullable Timepoint toTimepoint(int second) {
+        if (second == TimepointSet.NONE) return null;
+        return new Timepoint(second / 3600, (second % 3600) / 60, second % 60);
+    }
 }
@@ -0,0 +1,337 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * The sequences of keys that can legally be typed in the keyboard mode of the TimePickerDialog
+ * The grammar of every combination of 24 hour mode, minutes and seconds is compiled once into an
+ * immutable transition table, indexed by state and symbol. A symbol is a digit or {@link #AM_PM},
+ * so the tables don't depend on the keycodes of the AM and PM keys of the current Locale.
+ */
+final class KeyboardTimeGrammar {
+    /**
+     * The symbol of the AM and PM keys, the digits are symbols 0-9
+     */
+    static final int AM_PM = 10;
+    static final int SYMBOL_COUNT = AM_PM + 1;
+    /**
+     * The state before any key has been typed
+     */
+    static final int START = 0;
+    /**
+     * The state after a key that can't be typed
+     */
+    static final int ILLEGAL = -1;
+
+    // Indexed by 24 hour mode, minutes and seconds
+    private static final KeyboardTimeGrammar[] sGrammars = new KeyboardTimeGrammar[8];
+
+    // The next state, at index state * SYMBOL_COUNT + symbol
+    private final byte[] mTransitions;
+
+    private KeyboardTimeGrammar(@NonNull byte[] transitions) {
+        mTransitions = transitions;
+    }
+
+    /**
+     * @param is24HourMode true if the picker is in 24 hour mode
+     * @param enableMinutes true if minutes can be entered
+     * @param enableSeconds true if seconds can be entered, ignored when minutes can't be entered
+     * @return the grammar of the given combination
+     */
+    static synchronized @NonNull KeyboardTimeGrammar get(boolean is24HourMode, boolean enableMinutes, boolean enableSeconds) {
+        enableSeconds = enableSeconds && enableMinutes;
+        int index = (is24HourMode ? 4 : 0) | (enableMinutes ? 2 : 0) | (enableSeconds ? 1 : 0);
+        if (sGrammars[index] == null) {
+            sGrammars[index] = compile(buildTree(is24HourMode, enableMinutes, enableSeconds));
+        }
+        return sGrammars[index];
+    }
+
+    /**
+     * @param state the current state
+     * @param symbol the symbol of the typed key, or a negative number if it isn't a symbol
+     * @return the state after typing the symbol or {@link #ILLEGAL} if it can't be typed
+     */
+    int next(int state, int symbol) {
+        if (state < 0 || symbol < 0 || symbol >= SYMBOL_COUNT) return ILLEGAL;
+        return mTransitions[state * SYMBOL_COUNT + symbol];
+    }
+
+    int getStateCount() {
+        return mTransitions.length / SYMBOL_COUNT;
+    }
+
+    /**
+     * Numbers the nodes of the tree breadth first and records, for every node and symbol, the
+     * first child that accepts the symbol
+     */
+    private static @NonNull KeyboardTimeGrammar compile(@NonNull Node root) {
+        IdentityHashMap<Node, Integer> states = new IdentityHashMap<>();
+        ArrayList<Node> nodes = new ArrayList<>();
+        states.put(root, START);
+        nodes.add(root);
+        for (int i = 0; i < nodes.size(); i++) {
+            for (Node child : nodes.get(i).mChildren) {
+                if (!states.containsKey(child)) {
+                    states.put(child, nodes.size());
+                    nodes.add(child);
+                }
+            }
+        }
+        if (nodes.size() > Byte.MAX_VALUE) throw new IllegalStateException("Too many states");
+
+        byte[] transitions = new byte[nodes.size() * SYMBOL_COUNT];
+        Arrays.fill(transitions, (byte) ILLEGAL);
+        for (int state = 0; state < nodes.size(); state++) {
+            for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+                Node next = nodes.get(state).canReach(symbol);
+                if (next != null) transitions[state * SYMBOL_COUNT + symbol] = states.get(next).byteValue();
+            }
+        }
+        return new KeyboardTimeGrammar(transitions);
+    }
+
+    /**
+     * Create a tree for deciding what keys can legally be typed.
+     */
+    private static @NonNull Node buildTree(boolean is24HourMode, boolean enableMinutes, boolean enableSeconds) {
+        final int k0 = 0, k1 = 1, k2 = 2, k3 = 3, k4 = 4, k5 = 5, k6 = 6, k7 = 7, k8 = 8, k9 = 9;
+
+        // The root of the tree doesn't contain any numbers.
+        Node root = new Node();
+
+        // In case we're only allowing hours
+        if (!enableMinutes && is24HourMode) {
+            // The first digit may be 0-1
+            Node firstDigit = new Node(k0, k1);
+            root.addChild(firstDigit);
+
+            // When the first digit is 0-1, the second digit may be 0-9
+            Node secondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
+            firstDigit.addChild(secondDigit);
+
+            // The first digit may be 2
+            firstDigit = new Node(k2);
+            root.addChild(firstDigit);
+
+            // When the first digit is 2, the second digit may be 0-3
+            secondDigit = new Node(k0, k1, k2, k3);
+            firstDigit.addChild(secondDigit);
+            return root;
+        }
+        if (!enableMinutes) {
+            // We'll need to use the AM/PM node a lot.
+            Node ampm = new Node(AM_PM);
+
+            // The first digit may be 1
+            Node firstDigit = new Node(k1);
+            root.addChild(firstDigit);
+
+            // If the first digit is 1, the second one may be am/pm 1pm
+            firstDigit.addChild(ampm);
+            // If the first digit is 1, the second digit may be 0-2
+            Node secondDigit = new Node(k0, k1, k2);
+            firstDigit.addChild(secondDigit);
+            secondDigit.addChild(ampm);
+
+            // The first digit may be 2-9
+            firstDigit = new Node(k2, k3, k4, k5, k6, k7, k8, k9);
+            root.addChild(firstDigit);
+            firstDigit.addChild(ampm);
+            return root;
+        }
+
+        // In case minutes are allowed
+        if (is24HourMode) {
+            // We'll be re-using these nodes, so we'll save them.
+            Node minuteFirstDigit = new Node(k0, k1, k2, k3, k4, k5);
+            Node minuteSecondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
+            // The first digit must be followed by the second digit.
+            minuteFirstDigit.addChild(minuteSecondDigit);
+
+            if (enableSeconds) {
+                Node secondsFirstDigit = new Node(k0, k1, k2, k3, k4, k5);
+                Node secondsSecondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
+                secondsFirstDigit.addChild(secondsSecondDigit);
+
+                // Minutes can be followed by seconds.
+                minuteSecondDigit.addChild(secondsFirstDigit);
+            }
+
+            // The first digit may be 0-1.
+            Node firstDigit = new Node(k0, k1);
+            root.addChild(firstDigit);
+
+            // When the first digit is 0-1, the second digit may be 0-5.
+            Node secondDigit = new Node(k0, k1, k2, k3, k4, k5);
+            firstDigit.addChild(secondDigit);
+            // We may now be followed by the first minute digit. E.g. 00:09, 15:58.
+            secondDigit.addChild(minuteFirstDigit);
+
+            // When the first digit is 0-1, and the second digit is 0-5, the third digit may be 6-9.
+            Node thirdDigit = new Node(k6, k7, k8, k9);
+            // The time must now be finished. E.g. 0:55, 1:08.
+            secondDigit.addChild(thirdDigit);
+
+            // When the first digit is 0-1, the second digit may be 6-9.
+            secondDigit = new Node(k6, k7, k8, k9);
+            firstDigit.addChild(secondDigit);
+            // We must now be followed by the first minute digit. E.g. 06:50, 18:20.
+            secondDigit.addChild(minuteFirstDigit);
+
+            // The first digit may be 2.
+            firstDigit = new Node(k2);
+            root.addChild(firstDigit);
+
+            // When the first digit is 2, the second digit may be 0-3.
+            secondDigit = new Node(k0, k1, k2, k3);
+            firstDigit.addChild(secondDigit);
+            // We must now be followed by the first minute digit. E.g. 20:50, 23:09.
+            secondDigit.addChild(minuteFirstDigit);
+
+            // When the first digit is 2, the second digit may be 4-5.
+            secondDigit = new Node(k4, k5);
+            firstDigit.addChild(secondDigit);
+            // We must now be followd by the last minute digit. E.g. 2:40, 2:53.
+            secondDigit.addChild(minuteSecondDigit);
+
+            // The first digit may be 3-9.
+            firstDigit = new Node(k3, k4, k5, k6, k7, k8, k9);
+            root.addChild(firstDigit);
+            // We must now be followed by the first minute digit. E.g. 3:57, 8:12.
+            firstDigit.addChild(minuteFirstDigit);
+        } else {
+            // We'll need to use the AM/PM node a lot.
+            Node ampm = new Node(AM_PM);
+
+            // Seconds will be used a few times as well, if enabled.
+            Node secondsFirstDigit = new Node(k0, k1, k2, k3, k4, k5);
+            Node secondsSecondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
+            secondsSecondDigit.addChild(ampm);
+            secondsFirstDigit.addChild(secondsSecondDigit);
+
+            // The first hour digit may be 1.
+            Node firstDigit = new Node(k1);
+            root.addChild(firstDigit);
+            // We'll allow quick input of on-the-hour times. E.g. 1pm.
+            firstDigit.addChild(ampm);
+
+            // When the first digit is 1, the second digit may be 0-2.
+            Node secondDigit = new Node(k0, k1, k2);
+            firstDigit.addChild(secondDigit);
+            // Also for quick input of on-the-hour times. E.g. 10pm, 12am.
+            secondDigit.addChild(ampm);
+
+            // When the first digit is 1, and the second digit is 0-2, the third digit may be 0-5.
+            Node thirdDigit = new Node(k0, k1, k2, k3, k4, k5);
+            secondDigit.addChild(thirdDigit);
+            // The time may be finished now. E.g. 1:02pm, 1:25am.
+            thirdDigit.addChild(ampm);
+
+            // When the first digit is 1, the second digit is 0-2, and the third digit is 0-5,
+            // the fourth digit may be 0-9.
+            Node fourthDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
+            thirdDigit.addChild(fourthDigit);
+            // The time must be finished now, when seconds are disabled. E.g. 10:49am, 12:40pm.
+            fourthDigit.addChild(ampm);
+
+            // When the first digit is 1, the second digit is 0-2, and the third digit is 0-5,
+            // and fourth digit is 0-9, we may add seconds if enabled.
+            if (enableSeconds) {
+                // The time must be finished now. E.g. 10:49:01am, 12:40:59pm.
+                fourthDigit.addChild(secondsFirstDigit);
+            }
+
+            // When the first digit is 1, and the second digit is 0-2, the third digit may be 6-9.
+            thirdDigit = new Node(k6, k7, k8, k9);
+            secondDigit.addChild(thirdDigit);
+            // The time must be finished now. E.g. 1:08am, 1:26pm.
+            thirdDigit.addChild(ampm);
+
+            // When the first digit is 1, and the second digit is 0-2, and the third digit is 6-9,
+            // we may add seconds is enabled.
+            if (enableSeconds) {
+                // The time must be finished now. E.g. 1:08:01am, 1:26:59pm.
+                thirdDigit.addChild(secondsFirstDigit);
+            }
+
+            // When the first digit is 1, the second digit may be 3-5.
+            secondDigit = new Node(k3, k4, k5);
+            firstDigit.addChild(secondDigit);
+
+            // When the first digit is 1, and the second digit is 3-5, the third digit may be 0-9.
+            thirdDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
+            secondDigit.addChild(thirdDigit);
+            // The time must be finished now if seconds are disabled. E.g. 1:39am, 1:50pm.
+            thirdDigit.addChild(ampm);
+
+            // When the first digit is 1, and the second digit is 3-5, and the third digit is 0-9,
+            // we may add seconds if enabled.
+            if (enableSeconds) {
+                // The time must be finished now. E.g. 1:39:01am, 1:50:59pm.
+                thirdDigit.addChild(secondsFirstDigit);
+            }
+
+            // The hour digit may be 2-9.
+            firstDigit = new Node(k2, k3, k4, k5, k6, k7, k8, k9);
+            root.addChild(firstDigit);
+            // We'll allow quick input of on-the-hour-times. E.g. 2am, 5pm.
+            firstDigit.addChild(ampm);
+
+            // When the first digit is 2-9, the second digit may be 0-5.
+            secondDigit = new Node(k0, k1, k2, k3, k4, k5);
+            firstDigit.addChild(secondDigit);
+
+            // When the first digit is 2-9, and the second digit is 0-5, the third digit may be 0-9.
+            thirdDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
+            secondDigit.addChild(thirdDigit);
+            // The time must be finished now. E.g. 2:57am, 9:30pm.
+            thirdDigit.addChild(ampm);
+
+            // When the first digit is 2-9, and the second digit is 0-5, and third digit is 0-9, we
+            // may add seconds if enabled.
+            if (enableSeconds) {
+                // The time must be finished now. E.g. 2:57:01am, 9:30:59pm.
+                thirdDigit.addChild(secondsFirstDigit);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Simple node class, only used while compiling a grammar.
+     * mLegalSymbols represents the symbols that can be typed to get to the node.
+     * mChildren are the children that can be reached from this node.
+     */
+    private static class Node {
+        private final int[] mLegalSymbols;
+        private final ArrayList<Node> mChildren = new ArrayList<>();
+
+        Node(int... legalSymbols) {
+            mLegalSymbols = legalSymbols;
+        }
+
+        void addChild(Node child) {
+            mChildren.add(child);
+        }
+
+        boolean containsSymbol(int symbol) {
+            for (int legalSymbol : mLegalSymbols) {
+                if (legalSymbol == symbol) return true;
+            }
+            return false;
+        }
+
+        Node canReach(int symbol) {
+            for (Node child : mChildren) {
+                if (child.containsSymbol(symbol)) return child;
+            }
+            return null;
+        }
+    }
+}
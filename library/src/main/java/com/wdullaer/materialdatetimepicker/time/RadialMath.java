@@ -0,0 +1,89 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+/**
+ * Lookup tables for the trigonometry of the radial dials
+ * The sine of every integer degree is stored in fixed point and the angle of a touch is found by
+ * searching a table of tangents, so neither drawing the selector nor mapping a touch to a value
+ * needs any transcendental math. The tables are shared by all dials and built once per process.
+ */
+final class RadialMath {
+    static final int FIXED_POINT_SHIFT = 14;
+    static final int FIXED_POINT_ONE = 1 << FIXED_POINT_SHIFT;
+    // cos(30) = sqrt(3) / 2, the offset of the numbers that are 30 degrees away from an axis
+    static final float COS_30 = 0.8660254f;
+
+    private static final int[] SIN = new int[360];
+    // TAN[d] is the tangent of d degrees, the angle of a touch is the largest d with TAN[d] <= o/a
+    private static final float[] TAN = new float[90];
+
+    static {
+        for (int degrees = 0; degrees < SIN.length; degrees++) {
+            SIN[degrees] = (int) Math.round(Math.sin(Math.toRadians(degrees)) * FIXED_POINT_ONE);
+        }
+        for (int degrees = 0; degrees < TAN.length; degrees++) {
+            TAN[degrees] = (float) Math.tan(Math.toRadians(degrees));
+        }
+    }
+
+    private RadialMath() {}
+
+    /**
+     * @param degrees an angle in integer degrees
+     * @return the sine of the angle in fixed point, where FIXED_POINT_ONE equals 1
+     */
+    static int sin(int degrees) {
+        degrees %= 360;
+        return SIN[degrees < 0 ? degrees + 360 : degrees];
+    }
+
+    /**
+     * @param degrees an angle in integer degrees
+     * @return the cosine of the angle in fixed point, where FIXED_POINT_ONE equals 1
+     */
+    static int cos(int degrees) {
+        return sin(degrees + 90);
+    }
+
+    /**
+     * Multiplies a length with a fixed point value, rounding towards zero like an int cast would
+     * @param length a length in pixels
+     * @param fixedPoint a value returned by sin or cos
+     * @return the scaled length in pixels
+     */
+    static int scale(int length, int fixedPoint) {
+        return length * fixedPoint / FIXED_POINT_ONE;
+    }
+
+    /**
+     * Returns the angle of a point relative to the center of a dial, measured clockwise from 12 o'clock
+     * @param dx the horizontal distance from the center, positive to the right
+     * @param dy the vertical distance from the center, positive downwards
+     * @return the angle in whole degrees, between 0 and 360
+     */
+    static int getDegrees(float dx, float dy) {
+        float opposite = Math.abs(dy);
+        float adjacent = Math.abs(dx);
+        int degrees;
+        if (adjacent == 0) {
+            degrees = opposite == 0 ? 0 : 90;
+        } else {
+            // Binary search for the largest angle whose tangent is at most opposite / adjacent
+            int low = 0;
+            int high = TAN.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (TAN[mid] * adjacent <= opposite) low = mid;
+                else high = mid - 1;
+            }
+            degrees = low;
+        }
+
+        // Now we have to translate to the correct quadrant.
+        boolean rightSide = dx > 0;
+        boolean topSide = dy < 0;
+        if (rightSide && topSide) return 90 - degrees;
+        if (rightSide) return 90 + degrees;
+        if (!topSide) return 270 - degrees;
+        return 270 + degrees;
+    }
+}
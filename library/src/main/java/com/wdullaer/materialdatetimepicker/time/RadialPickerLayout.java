@@ -16,7 +16,8 @@
 
 package com.wdullaer.materialdatetimepicker.time;
 
-import android.animation.AnimatorSet;
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.ObjectAnimator;
 import android.content.Context;
 import android.os.Build;
@@ -28,6 +29,7 @@ import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import android.text.format.DateUtils;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnTouchListener;
@@ -93,9 +95,20 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
     private float mDownY;
     private AccessibilityManager mAccessibilityManager;
 
-    private AnimatorSet mTransition;
+    // The animators are owned by the radial views and restarted for every transition
+    private final ObjectAnimator[] mTransition = new ObjectAnimator[4];
+    private final HardwareLayerListener mHardwareLayerListener = new HardwareLayerListener();
     private Handler mHandler = new Handler();
 
+    // ACTION_MOVE samples are tracked as they arrive, but applied at most once per frame
+    private final Choreographer.FrameCallback mMoveFrameCallback = frameTimeNanos -> applyPendingMove();
+    private final Boolean[] mMoveIsInnerCircle = new Boolean[1];
+    private boolean mMovePending;
+    private int mMoveDegrees;
+    private boolean mMoveInnerCircle;
+    private Timepoint mMoveValue;
+    private boolean mMoveValueCrossed;
+
     public interface OnValueSelectedListener {
         void onValueSelected(Timepoint newTime);
         void enablePicker();
@@ -231,7 +244,7 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
         mSecondRadialTextsView.invalidate();
 
         // Initialize the currently-selected hour and minute.
-        mCurrentTime = initialTime;
+        setCurrentTime(initialTime);
         int hourDegrees = (initialTime.getHour() % 12) * HOUR_VALUE_TO_DEGREES_STEP_SIZE;
         mHourRadialSelectorView.initialize(context, mController, is24HourMode, true,
                 hourDegrees, isHourInnerCircle(initialTime.getHour()));
@@ -254,10 +267,21 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
      */
     private void setItem(int index, Timepoint time) {
         time = roundToValidTime(time, index);
-        mCurrentTime = time;
+        setCurrentTime(time);
         reselectSelector(time, false, index);
     }
 
+    /**
+     * Updates mCurrentTime. The text views cache which of their values are valid selections
+     * relative to the current time, so they need to recompute that.
+     */
+    private void setCurrentTime(Timepoint time) {
+        mCurrentTime = time;
+        mHourRadialTextsView.invalidateSelectionValidity();
+        mMinuteRadialTextsView.invalidateSelectionValidity();
+        mSecondRadialTextsView.invalidateSelectionValidity();
+    }
+
     /**
      * Check if a given hour appears in the outer circle or the inner circle
      * @return true if the hour is in the inner circle, false if it's in the outer circle.
@@ -325,7 +349,7 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
         else if(amOrPm == PM) newSelection.setPM();
         newSelection = roundToValidTime(newSelection, HOUR_INDEX);
         reselectSelector(newSelection, false, HOUR_INDEX);
-        mCurrentTime = newSelection;
+        setCurrentTime(newSelection);
         mListener.onValueSelected(newSelection);
     }
 
@@ -646,7 +670,8 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
         reselectSelector(getTime(), true, index);
 
         if (animate && (index != lastIndex)) {
-            ObjectAnimator[] anims = new ObjectAnimator[4];
+            endTransition();
+            ObjectAnimator[] anims = mTransition;
             if (index == MINUTE_INDEX && lastIndex == HOUR_INDEX) {
                 anims[0] = mHourRadialTextsView.getDisappearAnimator();
                 anims[1] = mHourRadialSelectorView.getDisappearAnimator();
@@ -681,12 +706,12 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
 
             if (anims[0] != null && anims[1] != null && anims[2] != null &&
                 anims[3] != null) {
-                if (mTransition != null && mTransition.isRunning()) {
-                    mTransition.end();
+                for (ObjectAnimator anim : anims) {
+                    // Keep the view on a hardware layer only while it animates
+                    ((View) anim.getTarget()).setLayerType(View.LAYER_TYPE_HARDWARE, null);
+                    anim.addListener(mHardwareLayerListener);
+                    anim.start();
                 }
-                mTransition = new AnimatorSet();
-                mTransition.playTogether(anims);
-                mTransition.start();
             } else {
                 transitionWithoutAnimation(index);
             }
@@ -695,6 +720,17 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
         }
     }
 
+    /**
+     * Jumps a running transition to its end, so the next one starts from a settled state
+     */
+    private void endTransition() {
+        for (int i = 0; i < mTransition.length; i++) {
+            ObjectAnimator anim = mTransition[i];
+            if (anim != null && anim.isStarted()) anim.end();
+            mTransition[i] = null;
+        }
+    }
+
     private void transitionWithoutAnimation(int index) {
         int hourAlpha = (index == HOUR_INDEX) ? 1 : 0;
         int minuteAlpha = (index == MINUTE_INDEX) ? 1 : 0;
@@ -728,6 +764,7 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
                 mLastValueSelected = null;
                 mDoingMove = false;
                 mDoingTouch = true;
+                cancelPendingMove();
                 // If we're showing the AM/PM, check to see if the user is touching it.
                 if (!mIs24HourMode && mController.getVersion() == TimePickerDialog.Version.VERSION_1) {
                     mIsTouchingAmOrPm = mAmPmCirclesView.getIsTouchingAmOrPm(eventX, eventY);
@@ -802,20 +839,17 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
                 }
 
                 // We're doing a move along the circle, so move the selection as appropriate.
+                // Touch panels can report several moves per frame, so the selection is only
+                // updated on the next frame. The samples in between only count towards haptics.
                 mDoingMove = true;
                 mHandler.removeCallbacksAndMessages(null);
-                degrees = getDegreesFromCoords(eventX, eventY, true, isInnerCircle);
-                if (degrees != -1) {
-                    value = roundToValidTime(
-                            getTimeFromDegrees(degrees, isInnerCircle[0], false),
-                            getCurrentItemShowing()
-                    );
-                    reselectSelector(value, true, getCurrentItemShowing());
-                    if (value != null && (mLastValueSelected == null || !mLastValueSelected.equals(value))) {
-                        mController.tryVibrate();
-                        mLastValueSelected = value;
-                        mListener.onValueSelected(value);
-                    }
+                for (int i = 0; i < event.getHistorySize(); i++) {
+                    trackMove(event.getHistoricalX(i), event.getHistoricalY(i));
+                }
+                trackMove(eventX, eventY);
+                if (!mMovePending && mMoveValue != null) {
+                    mMovePending = true;
+                    Choreographer.getInstance().postFrameCallback(mMoveFrameCallback);
                 }
                 return true;
             case MotionEvent.ACTION_UP:
@@ -828,6 +862,7 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
 
                 mHandler.removeCallbacksAndMessages(null);
                 mDoingTouch = false;
+                cancelPendingMove();
 
                 // If we're touching AM or PM, set it as selected, and tell the listener.
                 if (mIsTouchingAmOrPm == AM || mIsTouchingAmOrPm == PM) {
@@ -843,7 +878,7 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
                             else if(mIsTouchingAmOrPm == PM) newSelection.setPM();
                             newSelection = roundToValidTime(newSelection, HOUR_INDEX);
                             reselectSelector(newSelection, false, HOUR_INDEX);
-                            mCurrentTime = newSelection;
+                            setCurrentTime(newSelection);
                             mListener.onValueSelected(newSelection);
 
                         }
@@ -859,7 +894,7 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
                         value = getTimeFromDegrees(degrees, isInnerCircle[0], !mDoingMove);
                         value = roundToValidTime(value, getCurrentItemShowing());
                         reselectSelector(value, false, getCurrentItemShowing());
-                        mCurrentTime = value;
+                        setCurrentTime(value);
                         mListener.onValueSelected(value);
                         mListener.advancePicker(getCurrentItemShowing());
                     }
@@ -872,6 +907,52 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
         return false;
     }
 
+    /**
+     * Computes the value under a move sample, but only when it points at a different tick than
+     * the previous sample
+     */
+    private void trackMove(float x, float y) {
+        int degrees = getDegreesFromCoords(x, y, true, mMoveIsInnerCircle);
+        if (degrees == -1) return;
+        boolean isInnerCircle = mMoveIsInnerCircle[0];
+        if (mMoveValue != null && degrees == mMoveDegrees && isInnerCircle == mMoveInnerCircle) return;
+
+        Timepoint previous = mMoveValue != null ? mMoveValue : mLastValueSelected;
+        Timepoint value = roundToValidTime(
+                getTimeFromDegrees(degrees, isInnerCircle, false),
+                getCurrentItemShowing()
+        );
+        if (value == null) return;
+        if (previous == null || !previous.equals(value)) mMoveValueCrossed = true;
+        mMoveDegrees = degrees;
+        mMoveInnerCircle = isInnerCircle;
+        mMoveValue = value;
+    }
+
+    /**
+     * Moves the selection to the value of the latest move sample
+     */
+    private void applyPendingMove() {
+        mMovePending = false;
+        if (!mDoingMove || mMoveValue == null) return;
+        Timepoint value = mMoveValue;
+        reselectSelector(value, true, getCurrentItemShowing());
+        // A value that was crossed in between frames still deserves a tick
+        if (mMoveValueCrossed) mController.tryVibrate();
+        mMoveValueCrossed = false;
+        if (mLastValueSelected == null || !mLastValueSelected.equals(value)) {
+            mLastValueSelected = value;
+            mListener.onValueSelected(value);
+        }
+    }
+
+    private void cancelPendingMove() {
+        if (mMovePending) Choreographer.getInstance().removeFrameCallback(mMoveFrameCallback);
+        mMovePending = false;
+        mMoveValue = null;
+        mMoveValueCrossed = false;
+    }
+
     /**
      * Set touch input as enabled or disabled, for use with keyboard mode.
      */
@@ -1023,4 +1104,16 @@ public class RadialPickerLayout extends FrameLayout implements OnTouchListener {
 
         return false;
     }
+
+    /**
+     * Drops the hardware layer of a radial view once its transition animator is done
+     */
+    private static class HardwareLayerListener extends AnimatorListenerAdapter {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            animation.removeListener(this);
+            View target = (View) ((ObjectAnimator) animation).getTarget();
+            if (target != null) target.setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+    }
 }
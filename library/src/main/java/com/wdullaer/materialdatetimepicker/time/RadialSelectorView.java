@@ -69,10 +69,16 @@ public class RadialSelectorView extends View {
     private float mTransitionEndRadiusMultiplier;
     private int mLineLength;
     private int mSelectionRadius;
+    // Squared radii of the rings a touch is tested against, so hit testing needs no square root
+    private float mForceLegalHalfwaySquared;
+    private float mMinInnerSquared;
+    private float mMaxOuterSquared;
+    private float mHalfwaySquared;
     private InvalidateUpdateListener mInvalidateUpdateListener;
+    private ObjectAnimator mDisappearAnimator;
+    private ObjectAnimator mReappearAnimator;
 
     private int mSelectionDegrees;
-    private double mSelectionRadians;
     private boolean mForceDrawDot;
 
     public RadialSelectorView(Context context) {
@@ -139,6 +145,7 @@ public class RadialSelectorView extends View {
         mTransitionMidRadiusMultiplier = 1f + (0.05f * (disappearsOut? -1 : 1));
         mTransitionEndRadiusMultiplier = 1f + (0.3f * (disappearsOut? 1 : -1));
         mInvalidateUpdateListener = new InvalidateUpdateListener(this);
+        renderAnimations();
 
         setSelection(selectionDegrees, isInnerCircle, false);
         mIsInitialized = true;
@@ -155,7 +162,6 @@ public class RadialSelectorView extends View {
      */
     public void setSelection(int selectionDegrees, boolean isInnerCircle, boolean forceDrawDot) {
         mSelectionDegrees = selectionDegrees;
-        mSelectionRadians = selectionDegrees * Math.PI / 180;
         mForceDrawDot = forceDrawDot;
 
         if (mHasInnerCircle) {
@@ -189,36 +195,24 @@ public class RadialSelectorView extends View {
             return -1;
         }
 
-        double hypotenuse = Math.sqrt(
-                (pointY - mYCenter)*(pointY - mYCenter) +
-                (pointX - mXCenter)*(pointX - mXCenter));
+        float dx = pointX - mXCenter;
+        float dy = pointY - mYCenter;
+        float squaredHypotenuse = dx * dx + dy * dy;
         // Check if we're outside the range
         if (mHasInnerCircle) {
             if (forceLegal) {
                 // If we're told to force the coordinates to be legal, we'll set the isInnerCircle
                 // boolean based based off whichever number the coordinates are closer to.
-                int innerNumberRadius = (int) (mCircleRadius * mInnerNumbersRadiusMultiplier);
-                int distanceToInnerNumber = (int) Math.abs(hypotenuse - innerNumberRadius);
-                int outerNumberRadius = (int) (mCircleRadius * mOuterNumbersRadiusMultiplier);
-                int distanceToOuterNumber = (int) Math.abs(hypotenuse - outerNumberRadius);
-
-                isInnerCircle[0] = (distanceToInnerNumber <= distanceToOuterNumber);
+                isInnerCircle[0] = squaredHypotenuse <= mForceLegalHalfwaySquared;
             } else {
                 // Otherwise, if we're close enough to either number (with the space between the
                 // two allotted equally), set the isInnerCircle boolean as the closer one.
                 // appropriately, but otherwise return -1.
-                int minAllowedHypotenuseForInnerNumber =
-                        (int) (mCircleRadius * mInnerNumbersRadiusMultiplier) - mSelectionRadius;
-                int maxAllowedHypotenuseForOuterNumber =
-                        (int) (mCircleRadius * mOuterNumbersRadiusMultiplier) + mSelectionRadius;
-                int halfwayHypotenusePoint = (int) (mCircleRadius *
-                        ((mOuterNumbersRadiusMultiplier + mInnerNumbersRadiusMultiplier) / 2));
-
-                if (hypotenuse >= minAllowedHypotenuseForInnerNumber &&
-                        hypotenuse <= halfwayHypotenusePoint) {
+                if (squaredHypotenuse >= mMinInnerSquared &&
+                        squaredHypotenuse <= mHalfwaySquared) {
                     isInnerCircle[0] = true;
-                } else if (hypotenuse <= maxAllowedHypotenuseForOuterNumber &&
-                        hypotenuse >= halfwayHypotenusePoint) {
+                } else if (squaredHypotenuse <= mMaxOuterSquared &&
+                        squaredHypotenuse >= mHalfwaySquared) {
                     isInnerCircle[0] = false;
                 } else {
                     return -1;
@@ -229,34 +223,25 @@ public class RadialSelectorView extends View {
             // we're not told to force the coordinates to be legal, and
             // the coordinates' distance to the number is within the allowed distance.
             if (!forceLegal) {
-                int distanceToNumber = (int) Math.abs(hypotenuse - mLineLength);
                 // The max allowed distance will be defined as the distance from the center of the
                 // number to the edge of the circle.
                 int maxAllowedDistance = (int) (mCircleRadius * (1 - mNumbersRadiusMultiplier));
-                if (distanceToNumber > maxAllowedDistance) {
+                float minHypotenuse = Math.max(0, mLineLength - maxAllowedDistance);
+                float maxHypotenuse = mLineLength + maxAllowedDistance;
+                if (squaredHypotenuse < minHypotenuse * minHypotenuse ||
+                        squaredHypotenuse > maxHypotenuse * maxHypotenuse) {
                     return -1;
                 }
             }
         }
 
+        return RadialMath.getDegrees(dx, dy);
+    }
 
-        float opposite = Math.abs(pointY - mYCenter);
-        double radians = Math.asin(opposite / hypotenuse);
-        int degrees = (int) (radians * 180 / Math.PI);
-
-        // Now we have to translate to the correct quadrant.
-        boolean rightSide = (pointX > mXCenter);
-        boolean topSide = (pointY < mYCenter);
-        if (rightSide && topSide) {
-            degrees = 90 - degrees;
-        } else if (rightSide && !topSide) {
-            degrees = 90 + degrees;
-        } else if (!rightSide && !topSide) {
-            degrees = 270 - degrees;
-        } else if (!rightSide && topSide) {
-            degrees = 270 + degrees;
-        }
-        return degrees;
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (mIsInitialized && w != 0) calculateDrawValues();
     }
 
     @Override
@@ -266,28 +251,14 @@ public class RadialSelectorView extends View {
             return;
         }
 
-        if (!mDrawValuesReady) {
-            mXCenter = getWidth() / 2;
-            mYCenter = getHeight() / 2;
-            mCircleRadius = (int) (Math.min(mXCenter, mYCenter) * mCircleRadiusMultiplier);
-
-            if (!mIs24HourMode) {
-                // We'll need to draw the AM/PM circles, so the main circle will need to have
-                // a slightly higher center. To keep the entire view centered vertically, we'll
-                // have to push it up by half the radius of the AM/PM circles.
-                int amPmCircleRadius = (int) (mCircleRadius * mAmPmCircleRadiusMultiplier);
-                mYCenter -= amPmCircleRadius *0.75;
-            }
-
-            mSelectionRadius = (int) (mCircleRadius * mSelectionRadiusMultiplier);
-
-            mDrawValuesReady = true;
-        }
+        if (!mDrawValuesReady) calculateDrawValues();
 
         // Calculate the current radius at which to place the selection circle.
         mLineLength = (int) (mCircleRadius * mNumbersRadiusMultiplier * mAnimationRadiusMultiplier);
-        int pointX = mXCenter + (int) (mLineLength * Math.sin(mSelectionRadians));
-        int pointY = mYCenter - (int) (mLineLength * Math.cos(mSelectionRadians));
+        int sin = RadialMath.sin(mSelectionDegrees);
+        int cos = RadialMath.cos(mSelectionDegrees);
+        int pointX = mXCenter + RadialMath.scale(mLineLength, sin);
+        int pointY = mYCenter - RadialMath.scale(mLineLength, cos);
 
         // Draw the selection circle.
         mPaint.setAlpha(mSelectionAlpha);
@@ -302,8 +273,8 @@ public class RadialSelectorView extends View {
             // selection circle.
             int lineLength = mLineLength;
             lineLength -= mSelectionRadius;
-            pointX = mXCenter + (int) (lineLength * Math.sin(mSelectionRadians));
-            pointY = mYCenter - (int) (lineLength * Math.cos(mSelectionRadians));
+            pointX = mXCenter + RadialMath.scale(lineLength, sin);
+            pointY = mYCenter - RadialMath.scale(lineLength, cos);
         }
 
         // Draw the line from the center of the circle.
@@ -312,16 +283,51 @@ public class RadialSelectorView extends View {
         canvas.drawLine(mXCenter, mYCenter, pointX, pointY, mPaint);
     }
 
-    public ObjectAnimator getDisappearAnimator() {
-        if (!mIsInitialized || !mDrawValuesReady) {
-            Log.e(TAG, "RadialSelectorView was not ready for animation.");
-            return null;
+    /**
+     * Calculates the geometry of the dial and the rings used for hit testing from the size of the view
+     */
+    private void calculateDrawValues() {
+        mXCenter = getWidth() / 2;
+        mYCenter = getHeight() / 2;
+        mCircleRadius = (int) (Math.min(mXCenter, mYCenter) * mCircleRadiusMultiplier);
+
+        if (!mIs24HourMode) {
+            // We'll need to draw the AM/PM circles, so the main circle will need to have
+            // a slightly higher center. To keep the entire view centered vertically, we'll
+            // have to push it up by half the radius of the AM/PM circles.
+            int amPmCircleRadius = (int) (mCircleRadius * mAmPmCircleRadiusMultiplier);
+            mYCenter -= amPmCircleRadius *0.75;
+        }
+
+        mSelectionRadius = (int) (mCircleRadius * mSelectionRadiusMultiplier);
+
+        if (mHasInnerCircle) {
+            int innerNumberRadius = (int) (mCircleRadius * mInnerNumbersRadiusMultiplier);
+            int outerNumberRadius = (int) (mCircleRadius * mOuterNumbersRadiusMultiplier);
+            float forceLegalHalfway = (innerNumberRadius + outerNumberRadius) / 2f;
+            mForceLegalHalfwaySquared = forceLegalHalfway * forceLegalHalfway;
+
+            float minAllowedHypotenuseForInnerNumber = Math.max(0, innerNumberRadius - mSelectionRadius);
+            float maxAllowedHypotenuseForOuterNumber = outerNumberRadius + mSelectionRadius;
+            float halfwayHypotenusePoint = (int) (mCircleRadius *
+                    ((mOuterNumbersRadiusMultiplier + mInnerNumbersRadiusMultiplier) / 2));
+            mMinInnerSquared = minAllowedHypotenuseForInnerNumber * minAllowedHypotenuseForInnerNumber;
+            mMaxOuterSquared = maxAllowedHypotenuseForOuterNumber * maxAllowedHypotenuseForOuterNumber;
+            mHalfwaySquared = halfwayHypotenusePoint * halfwayHypotenusePoint;
         }
 
-        Keyframe kf0, kf1, kf2;
+        mDrawValuesReady = true;
+    }
+
+    /**
+     * Render the animations for appearing and disappearing.
+     */
+    private void renderAnimations() {
+        Keyframe kf0, kf1, kf2, kf3;
         float midwayPoint = 0.2f;
         int duration = 500;
 
+        // Set up animator for disappearing.
         kf0 = Keyframe.ofFloat(0f, 1);
         kf1 = Keyframe.ofFloat(midwayPoint, mTransitionMidRadiusMultiplier);
         kf2 = Keyframe.ofFloat(1f, mTransitionEndRadiusMultiplier);
@@ -332,23 +338,11 @@ public class RadialSelectorView extends View {
         kf1 = Keyframe.ofFloat(1f, 0f);
         PropertyValuesHolder fadeOut = PropertyValuesHolder.ofKeyframe("alpha", kf0, kf1);
 
-        ObjectAnimator disappearAnimator = ObjectAnimator.ofPropertyValuesHolder(
+        mDisappearAnimator = ObjectAnimator.ofPropertyValuesHolder(
                 this, radiusDisappear, fadeOut).setDuration(duration);
-        disappearAnimator.addUpdateListener(mInvalidateUpdateListener);
-
-        return disappearAnimator;
-    }
-
-    public ObjectAnimator getReappearAnimator() {
-        if (!mIsInitialized || !mDrawValuesReady) {
-            Log.e(TAG, "RadialSelectorView was not ready for animation.");
-            return null;
-        }
-
-        Keyframe kf0, kf1, kf2, kf3;
-        float midwayPoint = 0.2f;
-        int duration = 500;
+        mDisappearAnimator.addUpdateListener(mInvalidateUpdateListener);
 
+        // Set up animator for reappearing.
         // The time points are half of what they would normally be, because this animation is
         // staggered against the disappear so they happen seamlessly. The reappear starts
         // halfway into the disappear.
@@ -371,10 +365,27 @@ public class RadialSelectorView extends View {
         kf2 = Keyframe.ofFloat(1f, 1f);
         PropertyValuesHolder fadeIn = PropertyValuesHolder.ofKeyframe("alpha", kf0, kf1, kf2);
 
-        ObjectAnimator reappearAnimator = ObjectAnimator.ofPropertyValuesHolder(
+        mReappearAnimator = ObjectAnimator.ofPropertyValuesHolder(
                 this, radiusReappear, fadeIn).setDuration(totalDuration);
-        reappearAnimator.addUpdateListener(mInvalidateUpdateListener);
-        return reappearAnimator;
+        mReappearAnimator.addUpdateListener(mInvalidateUpdateListener);
+    }
+
+    public ObjectAnimator getDisappearAnimator() {
+        if (!mIsInitialized || !mDrawValuesReady || mDisappearAnimator == null) {
+            Log.e(TAG, "RadialSelectorView was not ready for animation.");
+            return null;
+        }
+
+        return mDisappearAnimator;
+    }
+
+    public ObjectAnimator getReappearAnimator() {
+        if (!mIsInitialized || !mDrawValuesReady || mReappearAnimator == null) {
+            Log.e(TAG, "RadialSelectorView was not ready for animation.");
+            return null;
+        }
+
+        return mReappearAnimator;
     }
 
     /**
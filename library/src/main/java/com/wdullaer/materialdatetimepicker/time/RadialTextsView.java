@@ -54,6 +54,13 @@ public class RadialTextsView extends View {
     private Typeface mTypefaceRegular;
     private String[] mTexts;
     private String[] mInnerTexts;
+    // The numeric values of mTexts and mInnerTexts, parsed once
+    private int[] mTextValues;
+    private int[] mInnerTextValues;
+    // Bit i is set if the value of the i-th text is a valid selection
+    private int mValidTexts;
+    private int mValidInnerTexts;
+    private boolean mValidTextsDirty;
     private boolean mIs24HourMode;
     private boolean mHasInnerCircle;
     private float mCircleRadiusMultiplier;
@@ -119,6 +126,8 @@ public class RadialTextsView extends View {
 
         mTexts = texts;
         mInnerTexts = innerTexts;
+        mTextValues = parseTexts(texts);
+        if (innerTexts != null) mInnerTextValues = parseTexts(innerTexts);
         mIs24HourMode = controller.is24HourMode();
         mHasInnerCircle = (innerTexts != null);
 
@@ -172,6 +181,7 @@ public class RadialTextsView extends View {
         mValidator = validator;
 
         mTextGridValuesDirty = true;
+        mValidTextsDirty = true;
         mIsInitialized = true;
     }
 
@@ -183,6 +193,14 @@ public class RadialTextsView extends View {
         this.selection = selection;
     }
 
+    /**
+     * Marks the validity of the texts as stale, so it is recomputed before the next draw
+     * Call this whenever the result of the SelectionValidator might have changed
+     */
+    void invalidateSelectionValidity() {
+        mValidTextsDirty = true;
+    }
+
     /**
      * Allows for smoother animation.
      */
@@ -249,11 +267,19 @@ public class RadialTextsView extends View {
             mTextGridValuesDirty = false;
         }
 
+        // Only consult the validator when the selection context has changed, not on every frame
+        if (mValidTextsDirty) {
+            mValidTexts = getValidTexts(mTextValues);
+            if (mHasInnerCircle) mValidInnerTexts = getValidTexts(mInnerTextValues);
+            mValidTextsDirty = false;
+        }
+
         // Draw the texts in the pre-calculated positions.
-        drawTexts(canvas, mTextSize, mTypefaceLight, mTexts, mTextGridWidths, mTextGridHeights);
+        drawTexts(canvas, mTextSize, mTypefaceLight, mTexts, mTextValues, mValidTexts,
+                mTextGridWidths, mTextGridHeights);
         if (mHasInnerCircle) {
-            drawTexts(canvas, mInnerTextSize, mTypefaceRegular, mInnerTexts,
-                    mInnerTextGridWidths, mInnerTextGridHeights);
+            drawTexts(canvas, mInnerTextSize, mTypefaceRegular, mInnerTexts, mInnerTextValues,
+                    mValidInnerTexts, mInnerTextGridWidths, mInnerTextGridHeights);
         }
     }
 
@@ -269,7 +295,7 @@ public class RadialTextsView extends View {
          */
         float offset1 = numbersRadius;
         // cos(30) = a / r => r * cos(30) = a => r * √3/2 = a
-        float offset2 = numbersRadius * ((float) Math.sqrt(3)) / 2f;
+        float offset2 = numbersRadius * RadialMath.COS_30;
         // sin(30) = o / r => r * sin(30) = o => r / 2 = a
         float offset3 = numbersRadius / 2f;
         mPaint.setTextSize(textSize);
@@ -294,37 +320,45 @@ public class RadialTextsView extends View {
         textGridWidths[6] = xCenter + offset1;
     }
 
-    private Paint[] assignTextColors(String[] texts) {
-        Paint[] paints = new Paint[texts.length];
-        for(int i=0;i<texts.length;i++) {
-            int text = Integer.parseInt(texts[i]);
-            if(text == selection) paints[i] = mSelectedPaint;
-            else if(mValidator.isValidSelection(text)) paints[i] = mPaint;
-            else paints[i] = mInactivePaint;
+    private static int[] parseTexts(String[] texts) {
+        int[] values = new int[texts.length];
+        for (int i = 0; i < texts.length; i++) values[i] = Integer.parseInt(texts[i]);
+        return values;
+    }
+
+    private int getValidTexts(int[] values) {
+        int validTexts = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (mValidator.isValidSelection(values[i])) validTexts |= 1 << i;
         }
-        return paints;
+        return validTexts;
+    }
+
+    private Paint getTextPaint(int[] values, int validTexts, int i) {
+        if (values[i] == selection) return mSelectedPaint;
+        if ((validTexts & (1 << i)) != 0) return mPaint;
+        return mInactivePaint;
     }
 
     /**
      * Draw the 12 text values at the positions specified by the textGrid parameters.
      */
     private void drawTexts(Canvas canvas, float textSize, Typeface typeface, String[] texts,
-            float[] textGridWidths, float[] textGridHeights) {
+            int[] values, int validTexts, float[] textGridWidths, float[] textGridHeights) {
         mPaint.setTextSize(textSize);
         mPaint.setTypeface(typeface);
-        Paint[] textPaints = assignTextColors(texts);
-        canvas.drawText(texts[0], textGridWidths[3], textGridHeights[0], textPaints[0]);
-        canvas.drawText(texts[1], textGridWidths[4], textGridHeights[1], textPaints[1]);
-        canvas.drawText(texts[2], textGridWidths[5], textGridHeights[2], textPaints[2]);
-        canvas.drawText(texts[3], textGridWidths[6], textGridHeights[3], textPaints[3]);
-        canvas.drawText(texts[4], textGridWidths[5], textGridHeights[4], textPaints[4]);
-        canvas.drawText(texts[5], textGridWidths[4], textGridHeights[5], textPaints[5]);
-        canvas.drawText(texts[6], textGridWidths[3], textGridHeights[6], textPaints[6]);
-        canvas.drawText(texts[7], textGridWidths[2], textGridHeights[5], textPaints[7]);
-        canvas.drawText(texts[8], textGridWidths[1], textGridHeights[4], textPaints[8]);
-        canvas.drawText(texts[9], textGridWidths[0], textGridHeights[3], textPaints[9]);
-        canvas.drawText(texts[10], textGridWidths[1], textGridHeights[2], textPaints[10]);
-        canvas.drawText(texts[11], textGridWidths[2], textGridHeights[1], textPaints[11]);
+        canvas.drawText(texts[0], textGridWidths[3], textGridHeights[0], getTextPaint(values, validTexts, 0));
+        canvas.drawText(texts[1], textGridWidths[4], textGridHeights[1], getTextPaint(values, validTexts, 1));
+        canvas.drawText(texts[2], textGridWidths[5], textGridHeights[2], getTextPaint(values, validTexts, 2));
+        canvas.drawText(texts[3], textGridWidths[6], textGridHeights[3], getTextPaint(values, validTexts, 3));
+        canvas.drawText(texts[4], textGridWidths[5], textGridHeights[4], getTextPaint(values, validTexts, 4));
+        canvas.drawText(texts[5], textGridWidths[4], textGridHeights[5], getTextPaint(values, validTexts, 5));
+        canvas.drawText(texts[6], textGridWidths[3], textGridHeights[6], getTextPaint(values, validTexts, 6));
+        canvas.drawText(texts[7], textGridWidths[2], textGridHeights[5], getTextPaint(values, validTexts, 7));
+        canvas.drawText(texts[8], textGridWidths[1], textGridHeights[4], getTextPaint(values, validTexts, 8));
+        canvas.drawText(texts[9], textGridWidths[0], textGridHeights[3], getTextPaint(values, validTexts, 9));
+        canvas.drawText(texts[10], textGridWidths[1], textGridHeights[2], getTextPaint(values, validTexts, 10));
+        canvas.drawText(texts[11], textGridWidths[2], textGridHeights[1], getTextPaint(values, validTexts, 11));
     }
 
     /**
@@ -46,6 +46,7 @@ import android.widget.RelativeLayout;
 import android.widget.TextView;
 
 import com.wdullaer.materialdatetimepicker.HapticFeedbackController;
+import com.wdullaer.materialdatetimepicker.LayoutPrewarmer;
 import com.wdullaer.materialdatetimepicker.R;
 import com.wdullaer.materialdatetimepicker.Utils;
 import com.wdullaer.materialdatetimepicker.time.RadialPickerLayout.OnValueSelectedListener;
@@ -53,7 +54,6 @@ import com.wdullaer.materialdatetimepicker.time.RadialPickerLayout.OnValueSelect
 import java.text.DateFormatSymbols;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.List;
 import java.util.Locale;
 
 /**
@@ -105,6 +105,7 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
     private DialogInterface.OnDismissListener mOnDismissListener;
 
     private HapticFeedbackController mHapticFeedbackController;
+    private final LayoutPrewarmer mPrewarmer = new LayoutPrewarmer();
 
     private Button mCancelButton;
     private Button mOkButton;
@@ -152,7 +153,7 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
     private String mDeletedKeyFormat;
     private boolean mInKbMode;
     private ArrayList<Integer> mTypedTimes;
-    private Node mLegalTimesTree;
+    private KeyboardTimeGrammar mTimeGrammar;
     private int mAmKeyCode;
     private int mPmKeyCode;
 
@@ -416,10 +417,11 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
 
     /**
      * Set the interval for selectable times in the TimePickerDialog
-     * This is a convenience wrapper around {@link TimePickerDialog#setSelectableTimes(Timepoint[])}
+     * Times matching the interval are selectable in addition to the ones passed to
+     * {@link TimePickerDialog#setSelectableTimes(Timepoint[])}. The interval is evaluated as a rule,
+     * so it takes constant memory, even with an interval of 1 second
      * The interval for all three time components can be set independently
-     * If you are not using the seconds / minutes picker, set the respective item to 60 for
-     * better performance.
+     * Calling this again replaces the previous interval
      * @param hourInterval The interval between 2 selectable hours ([1,24])
      * @param minuteInterval The interval between 2 selectable minutes ([1,60])
      * @param secondInterval The interval between 2 selectable seconds ([1,60])
@@ -427,30 +429,12 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
     public void setTimeInterval(@IntRange(from=1, to=24) int hourInterval,
                                 @IntRange(from=1, to=60) int minuteInterval,
                                 @IntRange(from=1, to=60) int secondInterval) {
-        List<Timepoint> timepoints = new ArrayList<>();
-
-        int hour = 0;
-        while (hour < 24) {
-            int minute = 0;
-            while (minute < 60) {
-                int second = 0;
-                while (second < 60) {
-                    timepoints.add(new Timepoint(hour, minute, second));
-                    second += secondInterval;
-                }
-                minute += minuteInterval;
-            }
-            hour += hourInterval;
-        }
-        setSelectableTimes(timepoints.toArray(new Timepoint[timepoints.size()]));
+        mDefaultLimiter.setTimeInterval(hourInterval, minuteInterval, secondInterval);
     }
 
     /**
      * Set the interval for selectable times in the TimePickerDialog
-     * This is a convenience wrapper around setSelectableTimes
-     * The interval for all three time components can be set independently
-     * If you are not using the seconds / minutes picker, set the respective item to 60 for
-     * better performance.
+     * See {@link TimePickerDialog#setTimeInterval(int, int, int)}
      * @param hourInterval The interval between 2 selectable hours ([1,24])
      * @param minuteInterval The interval between 2 selectable minutes ([1,60])
      */
@@ -462,10 +446,7 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
 
     /**
      * Set the interval for selectable times in the TimePickerDialog
-     * This is a convenience wrapper around setSelectableTimes
-     * The interval for all three time components can be set independently
-     * If you are not using the seconds / minutes picker, set the respective item to 60 for
-     * better performance.
+     * See {@link TimePickerDialog#setTimeInterval(int, int, int)}
      * @param hourInterval The interval between 2 selectable hours ([1,24])
      */
     @SuppressWarnings("unused")
@@ -628,6 +609,31 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
         mLocale = locale;
     }
 
+    /**
+     * Prepares the picker while the main thread is idle, so it opens faster
+     * This resolves the theme colors, loads the fonts and localised strings and inflates the layout
+     * of the picker. The next time the picker is shown by the same Activity it uses that layout
+     * instead of inflating a new one.
+     * Call this on the main thread after the picker has been configured.
+     * @param context the Activity that will show the picker
+     */
+    @SuppressWarnings("unused")
+    public void prewarm(@NonNull Context context) {
+        // Resolve the theme the same way onCreateView does
+        if (mAccentColor == null) mAccentColor = Utils.getAccentColorFromThemeIfAvailable(context);
+        if (!mThemeDarkChanged) mThemeDark = Utils.isDarkTheme(context, mThemeDark);
+        final Locale locale = mLocale;
+        mPrewarmer.post(() -> ResourcesCompat.getFont(context, R.font.robotomedium));
+        // Loads the locale data behind the AM/PM labels and the numbers on the clock face
+        mPrewarmer.post(() -> new DateFormatSymbols(locale).getAmPmStrings());
+        mPrewarmer.post(() -> String.format(locale, "%02d", 0));
+        mPrewarmer.inflate(context, getLayoutResource());
+    }
+
+    private int getLayoutResource() {
+        return mVersion == Version.VERSION_1 ? R.layout.mdtp_time_picker_dialog : R.layout.mdtp_time_picker_dialog_v2;
+    }
+
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -673,8 +679,9 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container,
             Bundle savedInstanceState) {
-        int viewRes = mVersion == Version.VERSION_1 ? R.layout.mdtp_time_picker_dialog : R.layout.mdtp_time_picker_dialog_v2;
-        View view = inflater.inflate(viewRes, container,false);
+        int viewRes = getLayoutResource();
+        View view = mPrewarmer.take(requireActivity(), viewRes, container);
+        if (view == null) view = inflater.inflate(viewRes, container, false);
         KeyboardListener keyboardListener = new KeyboardListener();
         view.findViewById(R.id.mdtp_time_picker_dialog).setOnKeyListener(keyboardListener);
 
@@ -968,7 +975,7 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
         mDeletedKeyFormat = res.getString(R.string.mdtp_deleted_key);
         mPlaceholderText = mDoublePlaceholderText.charAt(0);
         mAmKeyCode = mPmKeyCode = -1;
-        generateLegalTimesTree();
+        mTimeGrammar = KeyboardTimeGrammar.get(mIs24HourMode, mEnableMinutes, mEnableSeconds);
         if (mInKbMode && savedInstanceState != null) {
             mTypedTimes = savedInstanceState.getIntegerArrayList(KEY_TYPED_TIMES);
             tryStartingKbMode(-1);
@@ -1395,16 +1402,29 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
      * or may become legal as more keys are typed (excluding backspace).
      */
     private boolean isTypedTimeLegalSoFar() {
-        Node node = mLegalTimesTree;
+        int state = KeyboardTimeGrammar.START;
         for (int keyCode : mTypedTimes) {
-            node = node.canReach(keyCode);
-            if (node == null) {
+            state = mTimeGrammar.next(state, getGrammarSymbol(keyCode));
+            if (state == KeyboardTimeGrammar.ILLEGAL) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Get the symbol of a key in the KeyboardTimeGrammar, or -1 if it isn't part of the grammar.
+     */
+    private int getGrammarSymbol(int keyCode) {
+        if (keyCode >= KeyEvent.KEYCODE_0 && keyCode <= KeyEvent.KEYCODE_9) {
+            return keyCode - KeyEvent.KEYCODE_0;
+        }
+        if (keyCode != -1 && (keyCode == getAmOrPmKeyCode(AM) || keyCode == getAmOrPmKeyCode(PM))) {
+            return KeyboardTimeGrammar.AM_PM;
+        }
+        return -1;
+    }
+
     /**
      * Check if the time that has been typed so far is completely legal, as is.
      */
@@ -1621,263 +1641,6 @@ public class TimePickerDialog extends AppCompatDialogFragment implements
         return -1;
     }
 
-    /**
-     * Create a tree for deciding what keys can legally be typed.
-     */
-    private void generateLegalTimesTree() {
-        // Create a quick cache of numbers to their keycodes.
-        int k0 = KeyEvent.KEYCODE_0;
-        int k1 = KeyEvent.KEYCODE_1;
-        int k2 = KeyEvent.KEYCODE_2;
-        int k3 = KeyEvent.KEYCODE_3;
-        int k4 = KeyEvent.KEYCODE_4;
-        int k5 = KeyEvent.KEYCODE_5;
-        int k6 = KeyEvent.KEYCODE_6;
-        int k7 = KeyEvent.KEYCODE_7;
-        int k8 = KeyEvent.KEYCODE_8;
-        int k9 = KeyEvent.KEYCODE_9;
-
-        // The root of the tree doesn't contain any numbers.
-        mLegalTimesTree = new Node();
-
-        // In case we're only allowing hours
-        if (!mEnableMinutes && mIs24HourMode) {
-            // The first digit may be 0-1
-            Node firstDigit = new Node(k0, k1);
-            mLegalTimesTree.addChild(firstDigit);
-
-            // When the first digit is 0-1, the second digit may be 0-9
-            Node secondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            firstDigit.addChild(secondDigit);
-
-            // The first digit may be 2
-            firstDigit = new Node(k2);
-            mLegalTimesTree.addChild(firstDigit);
-
-            // When the first digit is 2, the second digit may be 0-3
-            secondDigit = new Node(k0, k1, k2, k3);
-            firstDigit.addChild(secondDigit);
-            return;
-        }
-        //noinspection ConstantConditions
-        if (!mEnableMinutes && !mIs24HourMode) {
-            // We'll need to use the AM/PM node a lot.
-            // Set up AM and PM to respond to "a" and "p".
-            Node ampm = new Node(getAmOrPmKeyCode(AM), getAmOrPmKeyCode(PM));
-
-            // The first digit may be 1
-            Node firstDigit = new Node(k1);
-            mLegalTimesTree.addChild(firstDigit);
-
-            // If the first digit is 1, the second one may be am/pm 1pm
-            firstDigit.addChild(ampm);
-            // If the first digit is 1, the second digit may be 0-2
-            Node secondDigit = new Node(k0, k1, k2);
-            firstDigit.addChild(secondDigit);
-            secondDigit.addChild(ampm);
-
-            // The first digit may be 2-9
-            firstDigit = new Node(k2, k3, k4, k5, k6, k7, k8, k9);
-            mLegalTimesTree.addChild(firstDigit);
-            firstDigit.addChild(ampm);
-            return;
-        }
-
-        // In case minutes are allowed
-        if (mIs24HourMode) {
-            // We'll be re-using these nodes, so we'll save them.
-            Node minuteFirstDigit = new Node(k0, k1, k2, k3, k4, k5);
-            Node minuteSecondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            // The first digit must be followed by the second digit.
-            minuteFirstDigit.addChild(minuteSecondDigit);
-
-            if (mEnableSeconds) {
-                Node secondsFirstDigit = new Node(k0, k1, k2, k3, k4, k5);
-                Node secondsSecondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-                secondsFirstDigit.addChild(secondsSecondDigit);
-
-                // Minutes can be followed by seconds.
-                minuteSecondDigit.addChild(secondsFirstDigit);
-            }
-
-            // The first digit may be 0-1.
-            Node firstDigit = new Node(k0, k1);
-            mLegalTimesTree.addChild(firstDigit);
-
-            // When the first digit is 0-1, the second digit may be 0-5.
-            Node secondDigit = new Node(k0, k1, k2, k3, k4, k5);
-            firstDigit.addChild(secondDigit);
-            // We may now be followed by the first minute digit. E.g. 00:09, 15:58.
-            secondDigit.addChild(minuteFirstDigit);
-
-            // When the first digit is 0-1, and the second digit is 0-5, the third digit may be 6-9.
-            Node thirdDigit = new Node(k6, k7, k8, k9);
-            // The time must now be finished. E.g. 0:55, 1:08.
-            secondDigit.addChild(thirdDigit);
-
-            // When the first digit is 0-1, the second digit may be 6-9.
-            secondDigit = new Node(k6, k7, k8, k9);
-            firstDigit.addChild(secondDigit);
-            // We must now be followed by the first minute digit. E.g. 06:50, 18:20.
-            secondDigit.addChild(minuteFirstDigit);
-
-            // The first digit may be 2.
-            firstDigit = new Node(k2);
-            mLegalTimesTree.addChild(firstDigit);
-
-            // When the first digit is 2, the second digit may be 0-3.
-            secondDigit = new Node(k0, k1, k2, k3);
-            firstDigit.addChild(secondDigit);
-            // We must now be followed by the first minute digit. E.g. 20:50, 23:09.
-            secondDigit.addChild(minuteFirstDigit);
-
-            // When the first digit is 2, the second digit may be 4-5.
-            secondDigit = new Node(k4, k5);
-            firstDigit.addChild(secondDigit);
-            // We must now be followd by the last minute digit. E.g. 2:40, 2:53.
-            secondDigit.addChild(minuteSecondDigit);
-
-            // The first digit may be 3-9.
-            firstDigit = new Node(k3, k4, k5, k6, k7, k8, k9);
-            mLegalTimesTree.addChild(firstDigit);
-            // We must now be followed by the first minute digit. E.g. 3:57, 8:12.
-            firstDigit.addChild(minuteFirstDigit);
-        } else {
-            // We'll need to use the AM/PM node a lot.
-            // Set up AM and PM to respond to "a" and "p".
-            Node ampm = new Node(getAmOrPmKeyCode(AM), getAmOrPmKeyCode(PM));
-
-            // Seconds will be used a few times as well, if enabled.
-            Node secondsFirstDigit = new Node(k0, k1, k2, k3, k4, k5);
-            Node secondsSecondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            secondsSecondDigit.addChild(ampm);
-            secondsFirstDigit.addChild(secondsSecondDigit);
-
-            // The first hour digit may be 1.
-            Node firstDigit = new Node(k1);
-            mLegalTimesTree.addChild(firstDigit);
-            // We'll allow quick input of on-the-hour times. E.g. 1pm.
-            firstDigit.addChild(ampm);
-
-            // When the first digit is 1, the second digit may be 0-2.
-            Node secondDigit = new Node(k0, k1, k2);
-            firstDigit.addChild(secondDigit);
-            // Also for quick input of on-the-hour times. E.g. 10pm, 12am.
-            secondDigit.addChild(ampm);
-
-            // When the first digit is 1, and the second digit is 0-2, the third digit may be 0-5.
-            Node thirdDigit = new Node(k0, k1, k2, k3, k4, k5);
-            secondDigit.addChild(thirdDigit);
-            // The time may be finished now. E.g. 1:02pm, 1:25am.
-            thirdDigit.addChild(ampm);
-
-            // When the first digit is 1, the second digit is 0-2, and the third digit is 0-5,
-            // the fourth digit may be 0-9.
-            Node fourthDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            thirdDigit.addChild(fourthDigit);
-            // The time must be finished now, when seconds are disabled. E.g. 10:49am, 12:40pm.
-            fourthDigit.addChild(ampm);
-
-            // When the first digit is 1, the second digit is 0-2, and the third digit is 0-5,
-            // and fourth digit is 0-9, we may add seconds if enabled.
-            if (mEnableSeconds) {
-                // The time must be finished now. E.g. 10:49:01am, 12:40:59pm.
-                fourthDigit.addChild(secondsFirstDigit);
-            }
-
-            // When the first digit is 1, and the second digit is 0-2, the third digit may be 6-9.
-            thirdDigit = new Node(k6, k7, k8, k9);
-            secondDigit.addChild(thirdDigit);
-            // The time must be finished now. E.g. 1:08am, 1:26pm.
-            thirdDigit.addChild(ampm);
-
-            // When the first digit is 1, and the second digit is 0-2, and the third digit is 6-9,
-            // we may add seconds is enabled.
-            if (mEnableSeconds) {
-                // The time must be finished now. E.g. 1:08:01am, 1:26:59pm.
-                thirdDigit.addChild(secondsFirstDigit);
-            }
-
-            // When the first digit is 1, the second digit may be 3-5.
-            secondDigit = new Node(k3, k4, k5);
-            firstDigit.addChild(secondDigit);
-
-            // When the first digit is 1, and the second digit is 3-5, the third digit may be 0-9.
-            thirdDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            secondDigit.addChild(thirdDigit);
-            // The time must be finished now if seconds are disabled. E.g. 1:39am, 1:50pm.
-            thirdDigit.addChild(ampm);
-
-            // When the first digit is 1, and the second digit is 3-5, and the third digit is 0-9,
-            // we may add seconds if enabled.
-            if (mEnableSeconds) {
-                // The time must be finished now. E.g. 1:39:01am, 1:50:59pm.
-                thirdDigit.addChild(secondsFirstDigit);
-            }
-
-            // The hour digit may be 2-9.
-            firstDigit = new Node(k2, k3, k4, k5, k6, k7, k8, k9);
-            mLegalTimesTree.addChild(firstDigit);
-            // We'll allow quick input of on-the-hour-times. E.g. 2am, 5pm.
-            firstDigit.addChild(ampm);
-
-            // When the first digit is 2-9, the second digit may be 0-5.
-            secondDigit = new Node(k0, k1, k2, k3, k4, k5);
-            firstDigit.addChild(secondDigit);
-
-            // When the first digit is 2-9, and the second digit is 0-5, the third digit may be 0-9.
-            thirdDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            secondDigit.addChild(thirdDigit);
-            // The time must be finished now. E.g. 2:57am, 9:30pm.
-            thirdDigit.addChild(ampm);
-
-            // When the first digit is 2-9, and the second digit is 0-5, and third digit is 0-9, we
-            // may add seconds if enabled.
-            if (mEnableSeconds) {
-                // The time must be finished now. E.g. 2:57:01am, 9:30:59pm.
-                thirdDigit.addChild(secondsFirstDigit);
-            }
-        }
-    }
-
-    /**
-     * Simple node class to be used for traversal to check for legal times.
-     * mLegalKeys represents the keys that can be typed to get to the node.
-     * mChildren are the children that can be reached from this node.
-     */
-    private static class Node {
-        private int[] mLegalKeys;
-        private ArrayList<Node> mChildren;
-
-        public Node(int... legalKeys) {
-            mLegalKeys = legalKeys;
-            mChildren = new ArrayList<>();
-        }
-
-        public void addChild(Node child) {
-            mChildren.add(child);
-        }
-
-        public boolean containsKey(int key) {
-            for (int legalKey : mLegalKeys) {
-                if (legalKey == key) return true;
-            }
-            return false;
-        }
-
-        public Node canReach(int key) {
-            if (mChildren == null) {
-                return null;
-            }
-            for (Node child : mChildren) {
-                if (child.containsKey(key)) {
-                    return child;
-                }
-            }
-            return null;
-        }
-    }
-
     private class KeyboardListener implements OnKeyListener {
         @Override
         public boolean onKey(View v, int keyCode, KeyEvent event) {
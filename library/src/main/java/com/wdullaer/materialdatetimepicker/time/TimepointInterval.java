@@ -0,0 +1,132 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import androidx.annotation.IntRange;
+
+/**
+ * The set of Timepoints whose hour, minute and second are multiples of a given interval
+ * Membership and rounding are computed with modulo arithmetic, so the rule takes constant memory
+ * regardless of how many Timepoints it matches.
+ */
+final class TimepointInterval {
+    private final int mHourInterval;
+    private final int mMinuteInterval;
+    private final int mSecondInterval;
+
+    TimepointInterval(@IntRange(from=1, to=24) int hourInterval,
+                      @IntRange(from=1, to=60) int minuteInterval,
+                      @IntRange(from=1, to=60) int secondInterval) {
+        if (hourInterval < 1 || hourInterval > 24 || minuteInterval < 1 || minuteInterval > 60
+                || secondInterval < 1 || secondInterval > 60) {
+            throw new IllegalArgumentException("Intervals must be between 1 and 24 (hours) or 1 and 60 (minutes and seconds)");
+        }
+        mHourInterval = hourInterval;
+        mMinuteInterval = minuteInterval;
+        mSecondInterval = secondInterval;
+    }
+
+    int getHourInterval() {
+        return mHourInterval;
+    }
+
+    int getMinuteInterval() {
+        return mMinuteInterval;
+    }
+
+    int getSecondInterval() {
+        return mSecondInterval;
+    }
+
+    /**
+     * @param second the time to check, in seconds since midnight
+     * @return true if the time matches the interval
+     */
+    boolean contains(int second) {
+        return second / 3600 % mHourInterval == 0
+                && second / 60 % 60 % mMinuteInterval == 0
+                && second % 60 % mSecondInterval == 0;
+    }
+
+    /**
+     * @param hour the hour of the day (0-23)
+     * @return true if any time in the given hour matches the interval
+     */
+    boolean containsHour(int hour) {
+        return hour % mHourInterval == 0;
+    }
+
+    /**
+     * @param hour the hour of the day (0-23)
+     * @param minute the minute of the hour (0-59)
+     * @return true if any time in the given minute matches the interval
+     */
+    boolean containsMinute(int hour, int minute) {
+        return hour % mHourInterval == 0 && minute % mMinuteInterval == 0;
+    }
+
+    /**
+     * @param second the time to start searching from, in seconds since midnight
+     * @return the earliest matching time at or after the given time, TimepointSet.NONE otherwise
+     */
+    int ceiling(int second) {
+        if (second < 0) second = 0;
+        int hour = second / 3600;
+        int minute = second / 60 % 60;
+        int sec = second % 60;
+
+        if (hour % mHourInterval != 0) {
+            hour = roundUp(hour, mHourInterval);
+            minute = 0;
+            sec = 0;
+        } else if (minute % mMinuteInterval != 0) {
+            minute = roundUp(minute, mMinuteInterval);
+            sec = 0;
+        } else {
+            sec = roundUp(sec, mSecondInterval);
+        }
+
+        // Carry overflowing fields into the next matching minute or hour
+        if (sec >= 60) {
+            sec = 0;
+            minute = roundUp(minute + 1, mMinuteInterval);
+        }
+        if (minute >= 60) {
+            minute = 0;
+            hour = roundUp(hour + 1, mHourInterval);
+        }
+        if (hour >= 24) return TimepointSet.NONE;
+        return hour * 3600 + minute * 60 + sec;
+    }
+
+    /**
+     * @param second the time to start searching from, in seconds since midnight
+     * @return the latest matching time at or before the given time, TimepointSet.NONE otherwise
+     */
+    int floor(int second) {
+        if (second < 0) return TimepointSet.NONE;
+        if (second >= TimepointSet.SECONDS_PER_DAY) second = TimepointSet.SECONDS_PER_DAY - 1;
+        int hour = second / 3600;
+        int minute = second / 60 % 60;
+        int sec = second % 60;
+
+        // Midnight always matches, so rounding down never needs to borrow from a previous field
+        if (hour % mHourInterval != 0) {
+            hour = roundDown(hour, mHourInterval);
+            minute = roundDown(59, mMinuteInterval);
+            sec = roundDown(59, mSecondInterval);
+        } else if (minute % mMinuteInterval != 0) {
+            minute = roundDown(minute, mMinuteInterval);
+            sec = roundDown(59, mSecondInterval);
+        } else {
+            sec = roundDown(sec, mSecondInterval);
+        }
+        return hour * 3600 + minute * 60 + sec;
+    }
+
+    private static int roundUp(int value, int interval) {
+        return (value + interval - 1) / interval * interval;
+    }
+
+    private static int roundDown(int value, int interval) {
+        return value / interval * interval;
+    }
+}
@@ -0,0 +1,290 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A set of Timepoints, stored as a bitset with one bit for every second of the day
+ * Summaries record which minutes and hours contain at least one Timepoint, so every lookup a
+ * TimepointLimiter needs is answered in constant time without allocating.
+ * The bitsets are only allocated when the first Timepoint is added.
+ */
+final class TimepointSet {
+    /**
+     * Returned by the search methods when no matching Timepoint exists
+     */
+    static final int NONE = -1;
+
+    static final int SECONDS_PER_DAY = 24 * 3600;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+
+    // One bit per second of the day
+    private long[] mSeconds;
+    // One bit per minute of the day, set if any second of that minute is in the set
+    private long[] mMinutes;
+    // One bit per hour of the day, set if any second of that hour is in the set
+    private int mHours;
+    private int mSize;
+
+    TimepointSet() {}
+
+    TimepointSet(@NonNull TimepointSet other) {
+        if (other.mSeconds != null) {
+            mSeconds = other.mSeconds.clone();
+            mMinutes = other.mMinutes.clone();
+        }
+        mHours = other.mHours;
+        mSize = other.mSize;
+    }
+
+    /**
+     * @param second the time to add, in seconds since midnight
+     * @return true if the set did not already contain the time
+     */
+    boolean add(int second) {
+        if (mSeconds == null) {
+            mSeconds = new long[wordCount(SECONDS_PER_DAY)];
+            mMinutes = new long[wordCount(MINUTES_PER_DAY)];
+        }
+        if (isSet(mSeconds, second)) return false;
+        set(mSeconds, second);
+        set(mMinutes, second / 60);
+        mHours |= 1 << (second / 3600);
+        mSize++;
+        return true;
+    }
+
+    void addAll(@NonNull Timepoint[] times) {
+        for (Timepoint time : times) add(time.toSeconds());
+    }
+
+    /**
+     * Removes all times which are in the other set
+     * @param other the times to remove
+     */
+    void removeAll(@NonNull TimepointSet other) {
+        if (mSeconds == null || other.mSeconds == null) return;
+        mSize = 0;
+        for (int i = 0; i < mSeconds.length; i++) {
+            mSeconds[i] &= ~other.mSeconds[i];
+            mSize += Long.bitCount(mSeconds[i]);
+        }
+        // Rebuild the summaries from scratch
+        mHours = 0;
+        for (int i = 0; i < mMinutes.length; i++) mMinutes[i] = 0;
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            if (nextSetBit(mSeconds, minute * 60, minute * 60 + 60) != NONE) {
+                set(mMinutes, minute);
+                mHours |= 1 << (minute / 60);
+            }
+        }
+    }
+
+    boolean contains(int second) {
+        return mSeconds != null && isSet(mSeconds, second);
+    }
+
+    /**
+     * @param second the time to check, in seconds since midnight
+     * @param resolution the precision of the check
+     * @return true if the set contains a time that is equal to the given time up to resolution
+     */
+    boolean contains(int second, @NonNull Timepoint.TYPE resolution) {
+        switch (resolution) {
+            case HOUR:
+                return containsHour(second / 3600);
+            case MINUTE:
+                return mMinutes != null && isSet(mMinutes, second / 60);
+            case SECOND:
+            default:
+                return contains(second);
+        }
+    }
+
+    /**
+     * @param hour the hour of the day (0-23)
+     * @return true if the set contains a time in the given hour
+     */
+    boolean containsHour(int hour) {
+        return (mHours & (1 << hour)) != 0;
+    }
+
+    /**
+     * @param hour the hour of the day (0-23)
+     * @param minute the minute of the hour (0-59)
+     * @return true if the set contains a time in the given minute
+     */
+    boolean containsMinute(int hour, int minute) {
+        return mMinutes != null && isSet(mMinutes, hour * 60 + minute);
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * @return the earliest time in the set, or NONE if the set is empty
+     */
+    int first() {
+        return ceiling(0);
+    }
+
+    /**
+     * @return the latest time in the set, or NONE if the set is empty
+     */
+    int last() {
+        return floor(SECONDS_PER_DAY - 1);
+    }
+
+    /**
+     * @param second the time to start searching from, in seconds since midnight
+     * @return the earliest time in the set at or after the given time, NONE otherwise
+     */
+    int ceiling(int second) {
+        if (mSize == 0 || second >= SECONDS_PER_DAY) return NONE;
+        if (second < 0) second = 0;
+        int minute = second / 60;
+        int output = nextSetBit(mSeconds, second, minute * 60 + 60);
+        if (output != NONE) return output;
+        // Use the summary to skip over empty minutes
+        minute = nextSetBit(mMinutes, minute + 1, MINUTES_PER_DAY);
+        if (minute == NONE) return NONE;
+        return nextSetBit(mSeconds, minute * 60, minute * 60 + 60);
+    }
+
+    /**
+     * @param second the time to start searching from, in seconds since midnight
+     * @return the latest time in the set at or before the given time, NONE otherwise
+     */
+    int floor(int second) {
+        if (mSize == 0 || second < 0) return NONE;
+        if (second >= SECONDS_PER_DAY) second = SECONDS_PER_DAY - 1;
+        int minute = second / 60;
+        int output = previousSetBit(mSeconds, second, minute * 60);
+        if (output != NONE) return output;
+        minute = previousSetBit(mMinutes, minute - 1, 0);
+        if (minute == NONE) return NONE;
+        return previousSetBit(mSeconds, minute * 60 + 59, minute * 60);
+    }
+
+    /**
+     * Searches for the first unit of the given resolution (e.g. the first minute) that contains
+     * no time of the set, skipping runs of occupied units a word at a time
+     * @param from the first unit to consider (an hour, minute or second of the day)
+     * @param to the last unit to consider (inclusive)
+     * @param resolution the size of the units
+     * @return the lowest unit in [from, to] which does not contain a time in the set, NONE otherwise
+     */
+    int nextAbsent(int from, int to, @NonNull Timepoint.TYPE resolution) {
+        if (from > to) return NONE;
+        switch (resolution) {
+            case HOUR:
+                for (int hour = from; hour <= to; hour++) if (!containsHour(hour)) return hour;
+                return NONE;
+            case MINUTE:
+                return mMinutes == null ? from : nextClearBit(mMinutes, from, to);
+            case SECOND:
+            default:
+                return mSeconds == null ? from : nextClearBit(mSeconds, from, to);
+        }
+    }
+
+    /**
+     * @param from the last unit to consider (an hour, minute or second of the day)
+     * @param to the first unit to consider (inclusive)
+     * @param resolution the size of the units
+     * @return the highest unit in [to, from] which does not contain a time in the set, NONE otherwise
+     */
+    int previousAbsent(int from, int to, @NonNull Timepoint.TYPE resolution) {
+        if (from < to) return NONE;
+        switch (resolution) {
+            case HOUR:
+                for (int hour = from; hour >= to; hour--) if (!containsHour(hour)) return hour;
+                return NONE;
+            case MINUTE:
+                return mMinutes == null ? from : previousClearBit(mMinutes, from, to);
+            case SECOND:
+            default:
+                return mSeconds == null ? from : previousClearBit(mSeconds, from, to);
+        }
+    }
+
+    /**
+     * @return all times in the set in ascending order
+     */
+    @NonNull Timepoint[] toArray() {
+        Timepoint[] output = new Timepoint[mSize];
+        int i = 0;
+        for (int second = first(); second != NONE; second = ceiling(second + 1)) {
+            output[i++] = new Timepoint(second / 3600, (second % 3600) / 60, second % 60);
+        }
+        return output;
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + BITS_PER_WORD - 1) >> ADDRESS_BITS_PER_WORD;
+    }
+
+    private static boolean isSet(long[] words, int bit) {
+        return (words[bit >> ADDRESS_BITS_PER_WORD] & (1L << bit)) != 0;
+    }
+
+    private static void set(long[] words, int bit) {
+        words[bit >> ADDRESS_BITS_PER_WORD] |= 1L << bit;
+    }
+
+    // Lowest set bit in [from, to), NONE if there is none
+    private static int nextSetBit(long[] words, int from, int to) {
+        if (from >= to) return NONE;
+        int index = from >> ADDRESS_BITS_PER_WORD;
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index << ADDRESS_BITS_PER_WORD >= to) return NONE;
+            word = words[index];
+        }
+        int output = (index << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+        return output < to ? output : NONE;
+    }
+
+    // Lowest clear bit in [from, to], NONE if there is none
+    private static int nextClearBit(long[] words, int from, int to) {
+        int index = from >> ADDRESS_BITS_PER_WORD;
+        long word = ~words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index << ADDRESS_BITS_PER_WORD > to) return NONE;
+            word = ~words[index];
+        }
+        int output = (index << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+        return output <= to ? output : NONE;
+    }
+
+    // Highest clear bit in [to, from], NONE if there is none
+    private static int previousClearBit(long[] words, int from, int to) {
+        int index = from >> ADDRESS_BITS_PER_WORD;
+        long word = ~words[index] & (-1L >>> (BITS_PER_WORD - 1 - (from & (BITS_PER_WORD - 1))));
+        while (word == 0) {
+            if (--index < 0 || ((index + 1) << ADDRESS_BITS_PER_WORD) <= to) return NONE;
+            word = ~words[index];
+        }
+        int output = (index << ADDRESS_BITS_PER_WORD) + BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+        return output >= to ? output : NONE;
+    }
+
+    // Highest set bit in [to, from], NONE if there is none
+    private static int previousSetBit(long[] words, int from, int to) {
+        if (from < to) return NONE;
+        int index = from >> ADDRESS_BITS_PER_WORD;
+        long word = words[index] & (-1L >>> (BITS_PER_WORD - 1 - (from & (BITS_PER_WORD - 1))));
+        while (word == 0) {
+            if (--index < 0 || ((index + 1) << ADDRESS_BITS_PER_WORD) <= to) return NONE;
+            word = words[index];
+        }
+        int output = (index << ADDRESS_BITS_PER_WORD) + BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+        return output >= to ? output : NONE;
+    }
+}
@@ -0,0 +1,75 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Unit tests for the shared cache of date formatters
+ */
+public class DateFormatCacheTest {
+    @Test
+    public void formatShouldUseTheGivenLocale() {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(2020, Calendar.MAY, 4);
+        long millis = calendar.getTimeInMillis();
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+
+        String english = DateFormatCache.format(DateFormatCache.MONTH_PATTERN, Locale.ENGLISH, utc, millis);
+        String french = DateFormatCache.format(DateFormatCache.MONTH_PATTERN, Locale.FRENCH, utc, millis);
+
+        Assert.assertEquals("May", english);
+        Assert.assertNotEquals(english, french);
+        // A formatter for one Locale must not affect another one
+        Assert.assertEquals(english, DateFormatCache.format(DateFormatCache.MONTH_PATTERN, Locale.ENGLISH, utc, millis));
+    }
+
+    @Test
+    public void formatShouldUseTheGivenTimeZone() {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(2020, Calendar.MAY, 4, 23, 30);
+        long millis = calendar.getTimeInMillis();
+
+        Assert.assertEquals("04", DateFormatCache.format(
+                DateFormatCache.DAY_PATTERN, Locale.ENGLISH, TimeZone.getTimeZone("UTC"), millis
+        ));
+        Assert.assertEquals("05", DateFormatCache.format(
+                DateFormatCache.DAY_PATTERN, Locale.ENGLISH, TimeZone.getTimeZone("GMT+02:00"), millis
+        ));
+    }
+
+    @Test
+    public void formatShouldBeSafeToCallFromSeveralThreads() throws InterruptedException {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        Calendar calendar = Calendar.getInstance(utc);
+        calendar.clear();
+        calendar.set(2020, Calendar.JANUARY, 1);
+        final long start = calendar.getTimeInMillis();
+        final boolean[] failed = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                Calendar expected = Calendar.getInstance(utc, Locale.ENGLISH);
+                for (int day = 0; day < 366; day++) {
+                    long millis = start + day * 86400000L;
+                    expected.setTimeInMillis(millis);
+                    String year = DateFormatCache.format(DateFormatCache.YEAR_PATTERN, Locale.ENGLISH, utc, millis);
+                    String dayOfMonth = DateFormatCache.format(DateFormatCache.DAY_PATTERN, Locale.ENGLISH, utc, millis);
+                    if (!year.equals(String.valueOf(expected.get(Calendar.YEAR)))
+                            || Integer.parseInt(dayOfMonth) != expected.get(Calendar.DAY_OF_MONTH)) {
+                        failed[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        Assert.assertFalse(failed[0]);
+    }
+}
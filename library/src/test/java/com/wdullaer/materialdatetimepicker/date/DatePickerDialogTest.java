@@ -76,4 +76,28 @@ public class DatePickerDialogTest {
 
         Assert.assertTrue(dpd.isHighlighted(year, month, day));
     }
+
+    @Test
+    public void getHighlightedDaysOfMonthShouldReturnTheCategoriesOfEachDay() {
+        DatePickerDialog dpd = DatePickerDialog.newInstance((view, year, monthOfYear, dayOfMonth) -> {
+
+        });
+        Calendar first = Calendar.getInstance();
+        first.set(1990, Calendar.FEBRUARY, 1);
+        Calendar second = Calendar.getInstance();
+        second.set(1990, Calendar.FEBRUARY, 2);
+        int color = 0xFFFF0000;
+
+        dpd.setHighlightedDays(new Calendar[]{first});
+        dpd.setHighlightedDays(new Calendar[]{first, second}, color);
+
+        int[] output = new int[31];
+        dpd.getHighlightedDaysOfMonth(1990, Calendar.FEBRUARY, output);
+
+        Assert.assertEquals(0b11, output[0]);
+        Assert.assertEquals(0b10, output[1]);
+        Assert.assertEquals(0, output[2]);
+        Assert.assertEquals(color, dpd.getHighlightColor(1));
+        Assert.assertEquals(2, dpd.getHighlightedDays().length);
+    }
 }
@@ -0,0 +1,103 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Calendar;
+
+/**
+ * Asserts that isOutOfRange does not allocate, since it is called for every visible day on every
+ * frame while rendering
+ * Allocations are counted with the per thread allocation counter of the HotSpot JVM. The tests are
+ * skipped on JVMs which don't provide it. The counter itself and TLAB accounting may report a few
+ * bytes, so the tests assert that less than a byte is allocated per call, while the smallest
+ * object a call could allocate takes 16 bytes.
+ */
+public class DefaultDateRangeLimiterAllocationTest {
+    private static final int ITERATIONS = 100000;
+
+    private com.sun.management.ThreadMXBean threadBean;
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private static Calendar[] everyOtherDay(int year, int count) {
+        Calendar[] days = new Calendar[count];
+        for (int i = 0; i < count; i++) {
+            Calendar day = Calendar.getInstance();
+            day.set(year, Calendar.JANUARY, 1);
+            day.add(Calendar.DAY_OF_MONTH, 2 * i);
+            days[i] = day;
+        }
+        return days;
+    }
+
+    /**
+     * Runs all dates of the given years through isOutOfRange until ITERATIONS calls have been made
+     * @return the number of bytes allocated on this thread while doing so
+     */
+    private long allocatedBytes(DefaultDateRangeLimiter limiter, int startYear, int endYear) {
+        long threadId = Thread.currentThread().getId();
+        // Warm up, so class loading and the allocation counter itself are not measured
+        int disabled = countOutOfRange(limiter, startYear, endYear);
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        disabled += countOutOfRange(limiter, startYear, endYear);
+        long after = threadBean.getThreadAllocatedBytes(threadId);
+        // Use the result, so the calls can't be optimised away
+        Assert.assertTrue(disabled >= 0);
+        return after - before;
+    }
+
+    private static void assertAllocationFree(long bytes) {
+        // countOutOfRange makes at least ITERATIONS calls
+        Assert.assertEquals("Allocated " + bytes + " bytes in " + ITERATIONS + " calls", 0, bytes / ITERATIONS);
+    }
+
+    private static int countOutOfRange(DefaultDateRangeLimiter limiter, int startYear, int endYear) {
+        int count = 0;
+        int calls = 0;
+        while (calls < ITERATIONS) {
+            for (int year = startYear; year <= endYear; year++) {
+                for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                    for (int day = 1; day <= 31; day++) {
+                        if (limiter.isOutOfRange(year, month, day)) count++;
+                        calls++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void isOutOfRangeShouldNotAllocateWithoutRestrictions() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+
+        assertAllocationFree(allocatedBytes(limiter, 1999, 2001));
+    }
+
+    @Test
+    public void isOutOfRangeShouldNotAllocateWithAllRestrictions() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        Calendar minDate = Calendar.getInstance();
+        minDate.set(1999, Calendar.MARCH, 1);
+        Calendar maxDate = Calendar.getInstance();
+        maxDate.set(2001, Calendar.OCTOBER, 1);
+
+        limiter.setYearRange(1990, 2010);
+        limiter.setMinDate(minDate);
+        limiter.setMaxDate(maxDate);
+        limiter.setSelectableDays(everyOtherDay(1999, 800));
+        limiter.setDisabledDays(everyOtherDay(1998, 3000));
+
+        assertAllocationFree(allocatedBytes(limiter, 1998, 2002));
+    }
+}
@@ -201,6 +201,54 @@ public class DefaultDateRangeLimiterPropertyTest {
         Assert.assertTrue(Utils.trimToMidnight(maxDay).getTimeInMillis() >= limiter.setToNearestDate(day).getTimeInMillis());
     }
 
+    // Reference implementation: walk away from day one day at a time, preferring the earlier day
+    private static Calendar walkToNearestEnabledDay(DefaultDateRangeLimiter limiter, Calendar day) {
+        Calendar forward = (Calendar) day.clone();
+        Calendar backward = (Calendar) day.clone();
+        while (true) {
+            if (!limiter.isOutOfRange(backward.get(Calendar.YEAR), backward.get(Calendar.MONTH), backward.get(Calendar.DAY_OF_MONTH))) {
+                return backward;
+            }
+            if (!limiter.isOutOfRange(forward.get(Calendar.YEAR), forward.get(Calendar.MONTH), forward.get(Calendar.DAY_OF_MONTH))) {
+                return forward;
+            }
+            forward.add(Calendar.DAY_OF_MONTH, 1);
+            backward.add(Calendar.DAY_OF_MONTH, -1);
+        }
+    }
+
+    @Property
+    public void setToNearestShouldMatchADayByDayWalkOverDisabledDays(
+            @InRange(min = "01/01/2017", max = "12/31/2019", format = "MM/dd/yyyy") Date date,
+            @InRange(min = "01/01/2017", max = "12/31/2019", format = "MM/dd/yyyy") Date[] dates,
+            @InRange(min = "01/01/2017", max = "12/31/2019", format = "MM/dd/yyyy") Date rangeStart,
+            @InRange(min = "01/01/2017", max = "12/31/2019", format = "MM/dd/yyyy") Date rangeEnd,
+            @InRange(minInt = 0, maxInt = 63) int daysOfWeekMask
+    ) {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+
+        Calendar day = Calendar.getInstance();
+        day.setTime(date);
+
+        limiter.setDisabledDays(datesToCalendars(dates));
+
+        Calendar[] range = datesToCalendars(new Date[]{rangeStart, rangeEnd});
+        Arrays.sort(range);
+        limiter.setDisabledDayRange(range[0], range[1]);
+
+        // Saturday is never disabled, so every week has an enabled day
+        int[] daysOfWeek = new int[Integer.bitCount(daysOfWeekMask)];
+        for (int i = 0, dayOfWeek = Calendar.SUNDAY; dayOfWeek < Calendar.SATURDAY; dayOfWeek++) {
+            if ((daysOfWeekMask & (1 << (dayOfWeek - 1))) != 0) daysOfWeek[i++] = dayOfWeek;
+        }
+        limiter.setDisabledDaysOfWeek(daysOfWeek);
+
+        Assert.assertEquals(
+                walkToNearestEnabledDay(limiter, day).getTimeInMillis(),
+                limiter.setToNearestDate(day).getTimeInMillis()
+        );
+    }
+
     // TODO write property based tests that enable all options as one
     // TODO ensure generators cover more of the known edge cases in the inputs
 }
@@ -697,4 +697,127 @@ public class DefaultDateRangeLimiterTest {
                 limiter.setToNearestDate(day).getTimeInMillis()
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isOutOfRangeShouldReturnTrueForDaysInADisabledRange() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        Calendar start = Calendar.getInstance();
+        start.set(2018, Calendar.JULY, 1);
+        Calendar end = Calendar.getInstance();
+        end.set(2018, Calendar.AUGUST, 31);
+        limiter.setDisabledDayRange(start, end);
+
+        Assert.assertFalse(limiter.isOutOfRange(2018, Calendar.JUNE, 30));
+        Assert.assertTrue(limiter.isOutOfRange(2018, Calendar.JULY, 1));
+        Assert.assertTrue(limiter.isOutOfRange(2018, Calendar.AUGUST, 15));
+        Assert.assertTrue(limiter.isOutOfRange(2018, Calendar.AUGUST, 31));
+        Assert.assertFalse(limiter.isOutOfRange(2018, Calendar.SEPTEMBER, 1));
+    }
+
+    @Test
+    public void isOutOfRangeShouldReturnFalseOnlyForDaysInASelectableRange() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        Calendar start = Calendar.getInstance();
+        start.set(2018, Calendar.JULY, 1);
+        Calendar end = Calendar.getInstance();
+        end.set(2018, Calendar.AUGUST, 31);
+        limiter.setSelectableDayRange(start, end);
+
+        Assert.assertTrue(limiter.isOutOfRange(2018, Calendar.JUNE, 30));
+        Assert.assertFalse(limiter.isOutOfRange(2018, Calendar.JULY, 1));
+        Assert.assertFalse(limiter.isOutOfRange(2018, Calendar.AUGUST, 31));
+        Assert.assertTrue(limiter.isOutOfRange(2018, Calendar.SEPTEMBER, 1));
+        Assert.assertEquals(2018, limiter.getMinYear());
+        Assert.assertEquals(2018, limiter.getMaxYear());
+    }
+
+    @Test
+    public void isOutOfRangeShouldReturnTrueForDisabledDaysOfWeek() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setDisabledDaysOfWeek(new int[]{Calendar.SATURDAY, Calendar.SUNDAY});
+
+        // April 14th 2017 was a Friday
+        Assert.assertFalse(limiter.isOutOfRange(2017, Calendar.APRIL, 14));
+        Assert.assertTrue(limiter.isOutOfRange(2017, Calendar.APRIL, 15));
+        Assert.assertTrue(limiter.isOutOfRange(2017, Calendar.APRIL, 16));
+        Assert.assertFalse(limiter.isOutOfRange(2017, Calendar.APRIL, 17));
+        Assert.assertArrayEquals(
+                new int[]{Calendar.SUNDAY, Calendar.SATURDAY},
+                limiter.getDisabledDaysOfWeek()
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setDisabledDaysOfWeekShouldThrowOnInvalidDays() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setDisabledDaysOfWeek(new int[]{8});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setDisabledDayRangeShouldThrowWhenEndIsBeforeStart() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        Calendar start = Calendar.getInstance();
+        start.set(2018, Calendar.JULY, 1);
+        Calendar end = Calendar.getInstance();
+        end.set(2018, Calendar.JUNE, 1);
+        limiter.setDisabledDayRange(start, end);
+    }
+
+    @Test
+    public void setToNearestShouldJumpOverADisabledRange() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        Calendar start = Calendar.getInstance();
+        start.set(2010, Calendar.JANUARY, 1);
+        Calendar end = Calendar.getInstance();
+        end.set(2011, Calendar.DECEMBER, 31);
+        limiter.setDisabledDayRange(start, end);
+
+        Calendar day = Calendar.getInstance();
+        day.set(2011, Calendar.OCTOBER, 1);
+        Calendar expectedDay = Calendar.getInstance();
+        expectedDay.set(2012, Calendar.JANUARY, 1);
+
+        Assert.assertEquals(
+                Utils.trimToMidnight(expectedDay).getTimeInMillis(),
+                Utils.trimToMidnight(limiter.setToNearestDate(day)).getTimeInMillis()
+        );
+    }
+
+    @Test
+    public void setToNearestShouldSkipDisabledDaysOfWeek() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setDisabledDaysOfWeek(new int[]{Calendar.SATURDAY, Calendar.SUNDAY});
+
+        // April 15th 2017 was a Saturday, it is closer to the Friday before than to the Monday after
+        Calendar day = Calendar.getInstance();
+        day.set(2017, Calendar.APRIL, 15);
+        Calendar expectedDay = Calendar.getInstance();
+        expectedDay.set(2017, Calendar.APRIL, 14);
+
+        Assert.assertEquals(
+                Utils.trimToMidnight(expectedDay).getTimeInMillis(),
+                Utils.trimToMidnight(limiter.setToNearestDate(day)).getTimeInMillis()
+        );
+    }
+
+    @Test
+    public void setToNearestShouldRoundToTheNearestSelectableRange() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setController(controller);
+        Calendar start = Calendar.getInstance();
+        start.set(2018, Calendar.JULY, 1);
+        Calendar end = Calendar.getInstance();
+        end.set(2018, Calendar.AUGUST, 31);
+        limiter.setSelectableDayRange(start, end);
+
+        Calendar day = Calendar.getInstance();
+        day.set(2018, Calendar.SEPTEMBER, 10);
+        Calendar expectedDay = Calendar.getInstance();
+        expectedDay.set(2018, Calendar.AUGUST, 31);
+
+        Assert.assertEquals(
+                Utils.trimToMidnight(expectedDay).getTimeInMillis(),
+                limiter.setToNearestDate(day).getTimeInMillis()
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.TimeZone;
+
+/**
+ * Unit tests for the compact encoding of epoch days used to save the state of the date picker
+ */
+public class EpochDayCodecTest {
+    private static final int DAY_COUNT = 3000;
+    private static final int ROUND_TRIPS = 20;
+
+    @Test
+    public void decodeShouldReturnTheEncodedDays() {
+        int[][] inputs = {
+                {},
+                {0},
+                {-40000, -39999, -1, 0, 1, 63, 64, 200},
+                {Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1}
+        };
+        for (int[] days : inputs) {
+            Assert.assertArrayEquals(days, EpochDayCodec.decode(EpochDayCodec.encode(days)));
+        }
+    }
+
+    @Test
+    public void consecutiveDaysShouldBeEncodedAsASingleRun() {
+        int[] days = new int[365];
+        for (int i = 0; i < days.length; i++) days[i] = 44000 + i;
+
+        byte[] encoded = EpochDayCodec.encode(days);
+
+        // Run count, start and length
+        Assert.assertTrue(encoded.length <= 6);
+        Assert.assertArrayEquals(days, EpochDayCodec.decode(encoded));
+    }
+
+    @Test
+    public void readerShouldReturnValuesInTheOrderTheyWereWritten() {
+        EpochDayCodec.Writer writer = new EpochDayCodec.Writer();
+        writer.writeDays(new int[]{1, 2, 5});
+        writer.writeRanges(new int[]{-10, -5, 0, 0});
+        writer.writeSigned(-300);
+        writer.writeUnsigned(70000);
+
+        EpochDayCodec.Reader reader = new EpochDayCodec.Reader(writer.toByteArray());
+
+        Assert.assertArrayEquals(new int[]{1, 2, 5}, reader.readDays());
+        Assert.assertArrayEquals(new int[]{-10, -5, 0, 0}, reader.readRanges());
+        Assert.assertEquals(-300, reader.readSigned());
+        Assert.assertEquals(70000, reader.readUnsigned());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeShouldThrowOnTruncatedInput() {
+        byte[] encoded = EpochDayCodec.encode(new int[]{1, 3, 5});
+        EpochDayCodec.decode(Arrays.copyOf(encoded, encoded.length - 1));
+    }
+
+    /**
+     * Compares the encoding against the serialized HashSet of Calendars which was used to save
+     * the selectable and disabled days before
+     */
+    @Test
+    public void encodingShouldBeSmallerAndFasterThanSerializingCalendars() throws Exception {
+        int[] days = new int[DAY_COUNT];
+        HashSet<Calendar> calendars = new HashSet<>();
+        for (int i = 0; i < DAY_COUNT; i++) {
+            // A mix of short runs and gaps, like a calendar full of events
+            days[i] = EpochDay.of(2020, Calendar.JANUARY, 1) + i + i / 3;
+            calendars.add(EpochDay.toCalendar(days[i], TimeZone.getDefault()));
+        }
+
+        byte[] encoded = EpochDayCodec.encode(days);
+        byte[] serialized = serialize(calendars);
+        Assert.assertTrue(
+                "Encoded size " + encoded.length + " is not much smaller than " + serialized.length,
+                encoded.length * 50 < serialized.length
+        );
+
+        // Warm up both paths before timing them
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            EpochDayCodec.decode(EpochDayCodec.encode(days));
+            deserialize(serialize(calendars));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            Assert.assertEquals(DAY_COUNT, EpochDayCodec.decode(EpochDayCodec.encode(days)).length);
+        }
+        long encodedNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            Assert.assertEquals(DAY_COUNT, deserialize(serialize(calendars)).size());
+        }
+        long serializedNanos = System.nanoTime() - start;
+
+        Assert.assertTrue(
+                "Encoded round trip took " + encodedNanos + "ns, serialized took " + serializedNanos + "ns",
+                encodedNanos < serializedNanos
+        );
+    }
+
+    private static byte[] serialize(HashSet<Calendar> calendars) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(calendars);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static HashSet<?> deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (HashSet<?>) in.readObject();
+        }
+    }
+}
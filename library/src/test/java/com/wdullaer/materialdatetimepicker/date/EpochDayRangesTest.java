@@ -0,0 +1,96 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the sorted range backed set of epoch days
+ */
+public class EpochDayRangesTest {
+    @Test
+    public void emptySetShouldNotContainAnything() {
+        EpochDayRanges ranges = new EpochDayRanges();
+
+        Assert.assertTrue(ranges.isEmpty());
+        Assert.assertFalse(ranges.contains(0));
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.first());
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.last());
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.ceiling(0));
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.floor(0));
+    }
+
+    @Test
+    public void containsShouldIncludeBothBoundaries() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(10, 20);
+        ranges.add(-30, -25);
+
+        Assert.assertFalse(ranges.contains(9));
+        Assert.assertTrue(ranges.contains(10));
+        Assert.assertTrue(ranges.contains(20));
+        Assert.assertFalse(ranges.contains(21));
+        Assert.assertTrue(ranges.contains(-27));
+        Assert.assertFalse(ranges.contains(0));
+    }
+
+    @Test
+    public void addShouldMergeOverlappingAndAdjacentRanges() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(10, 20);
+        ranges.add(30, 40);
+        ranges.add(50, 60);
+        ranges.add(21, 29);
+        Assert.assertArrayEquals(new int[]{10, 40, 50, 60}, ranges.toArray());
+
+        ranges.add(0, 100);
+        Assert.assertArrayEquals(new int[]{0, 100}, ranges.toArray());
+
+        ranges.add(102, 110);
+        ranges.add(-10, -5);
+        Assert.assertArrayEquals(new int[]{-10, -5, 0, 100, 102, 110}, ranges.toArray());
+        Assert.assertEquals(3, ranges.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addShouldThrowWhenEndIsBeforeStart() {
+        new EpochDayRanges().add(10, 9);
+    }
+
+    @Test
+    public void ceilingAndFloorShouldFindTheNearestDays() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(10, 20);
+        ranges.add(40, 50);
+
+        Assert.assertEquals(15, ranges.ceiling(15));
+        Assert.assertEquals(15, ranges.floor(15));
+        Assert.assertEquals(40, ranges.ceiling(21));
+        Assert.assertEquals(20, ranges.floor(39));
+        Assert.assertEquals(10, ranges.ceiling(-100));
+        Assert.assertEquals(50, ranges.floor(100));
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.ceiling(51));
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.floor(9));
+    }
+
+    @Test
+    public void rangeBoundariesShouldOnlyBeReturnedForContainedDays() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(10, 20);
+
+        Assert.assertEquals(10, ranges.getRangeStart(15));
+        Assert.assertEquals(20, ranges.getRangeEnd(15));
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.getRangeStart(21));
+        Assert.assertEquals(EpochDayRanges.NONE, ranges.getRangeEnd(9));
+    }
+
+    @Test
+    public void addAllShouldRestoreTheOutputOfToArray() {
+        EpochDayRanges ranges = new EpochDayRanges();
+        ranges.add(-5, 5);
+        ranges.add(100, 1000);
+
+        EpochDayRanges copy = new EpochDayRanges();
+        copy.addAll(ranges.toArray());
+        Assert.assertArrayEquals(ranges.toArray(), copy.toArray());
+    }
+}
@@ -0,0 +1,93 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the bitset backed set of epoch days
+ */
+public class EpochDaySetTest {
+    @Test
+    public void emptySetShouldNotContainAnything() {
+        EpochDaySet set = new EpochDaySet();
+
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertFalse(set.contains(0));
+        Assert.assertEquals(EpochDaySet.NONE, set.first());
+        Assert.assertEquals(EpochDaySet.NONE, set.last());
+        Assert.assertEquals(EpochDaySet.NONE, set.ceiling(0));
+        Assert.assertEquals(EpochDaySet.NONE, set.floor(0));
+    }
+
+    @Test
+    public void containsShouldOnlyReturnTrueForAddedDays() {
+        EpochDaySet set = new EpochDaySet();
+        int[] days = {-40000, -1, 0, 63, 64, 36524, 73000};
+        set.addAll(days);
+
+        for (int day : days) Assert.assertTrue(set.contains(day));
+        Assert.assertFalse(set.contains(1));
+        Assert.assertFalse(set.contains(-2));
+        Assert.assertFalse(set.contains(100000));
+        Assert.assertEquals(days.length, set.size());
+    }
+
+    @Test
+    public void addShouldNotCountDuplicates() {
+        EpochDaySet set = new EpochDaySet();
+
+        Assert.assertTrue(set.add(10));
+        Assert.assertFalse(set.add(10));
+        Assert.assertEquals(1, set.size());
+    }
+
+    @Test
+    public void addShouldGrowInBothDirections() {
+        EpochDaySet set = new EpochDaySet();
+        set.add(1000);
+        set.add(-1000);
+        set.add(5000);
+
+        Assert.assertEquals(-1000, set.first());
+        Assert.assertEquals(5000, set.last());
+        Assert.assertTrue(set.contains(1000));
+    }
+
+    @Test
+    public void ceilingAndFloorShouldFindTheNearestDays() {
+        EpochDaySet set = new EpochDaySet();
+        set.addAll(new int[]{-70, 10, 200});
+
+        Assert.assertEquals(10, set.ceiling(10));
+        Assert.assertEquals(10, set.floor(10));
+        Assert.assertEquals(200, set.ceiling(11));
+        Assert.assertEquals(10, set.floor(199));
+        Assert.assertEquals(-70, set.ceiling(-1000));
+        Assert.assertEquals(200, set.floor(1000));
+        Assert.assertEquals(-70, set.floor(9));
+        Assert.assertEquals(EpochDaySet.NONE, set.ceiling(201));
+        Assert.assertEquals(EpochDaySet.NONE, set.floor(-71));
+    }
+
+    @Test
+    public void toArrayShouldReturnSortedDays() {
+        EpochDaySet set = new EpochDaySet();
+        set.addAll(new int[]{300, -5, 64, 63, 0});
+
+        Assert.assertArrayEquals(new int[]{-5, 0, 63, 64, 300}, set.toArray());
+    }
+
+    @Test
+    public void nextAndPreviousAbsentShouldSkipRunsOfDays() {
+        EpochDaySet set = new EpochDaySet();
+        for (int day = -10; day <= 200; day++) set.add(day);
+        set.add(202);
+
+        Assert.assertEquals(201, set.nextAbsent(-10));
+        Assert.assertEquals(203, set.nextAbsent(202));
+        Assert.assertEquals(-11, set.previousAbsent(200));
+        Assert.assertEquals(201, set.previousAbsent(202));
+        Assert.assertEquals(500, set.nextAbsent(500));
+        Assert.assertEquals(-500, set.previousAbsent(-500));
+    }
+}
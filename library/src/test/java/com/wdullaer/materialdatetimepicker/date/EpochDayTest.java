@@ -0,0 +1,77 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Unit tests for the conversions between dates and epoch days
+ */
+public class EpochDayTest {
+    @Test
+    public void ofShouldReturnZeroForTheFirstOf1900() {
+        Assert.assertEquals(0, EpochDay.of(1900, Calendar.JANUARY, 1));
+    }
+
+    @Test
+    public void ofShouldMatchCalendarArithmetic() {
+        Calendar day = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        day.clear();
+        day.set(1800, Calendar.JANUARY, 1);
+        int start = EpochDay.of(day);
+
+        for (int i = 0; i < 365 * 400; i++) {
+            Assert.assertEquals(start + i, EpochDay.of(day));
+            day.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void ofShouldCarryOverflowingMonthsIntoTheYear() {
+        Assert.assertEquals(EpochDay.of(2001, Calendar.JANUARY, 1), EpochDay.of(2000, 12, 1));
+        Assert.assertEquals(EpochDay.of(1999, Calendar.DECEMBER, 1), EpochDay.of(2000, -1, 1));
+    }
+
+    @Test
+    public void ofShouldIgnoreTheTimeZoneOfTheCalendar() {
+        Calendar losAngeles = Calendar.getInstance(TimeZone.getTimeZone("America/Los_Angeles"));
+        losAngeles.set(1985, Calendar.FEBRUARY, 1, 23, 30);
+        Calendar tokyo = Calendar.getInstance(TimeZone.getTimeZone("Asia/Tokyo"));
+        tokyo.set(1985, Calendar.FEBRUARY, 1, 0, 30);
+
+        Assert.assertEquals(EpochDay.of(losAngeles), EpochDay.of(tokyo));
+    }
+
+    @Test
+    public void fieldGettersShouldInvertOf() {
+        Calendar day = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        day.clear();
+        day.set(1800, Calendar.JANUARY, 1);
+
+        for (int i = 0; i < 365 * 400; i++) {
+            int epochDay = EpochDay.of(day);
+            Assert.assertEquals(day.get(Calendar.YEAR), EpochDay.getYear(epochDay));
+            Assert.assertEquals(day.get(Calendar.MONTH), EpochDay.getMonth(epochDay));
+            Assert.assertEquals(day.get(Calendar.DAY_OF_MONTH), EpochDay.getDayOfMonth(epochDay));
+            Assert.assertEquals(day.get(Calendar.DAY_OF_WEEK), EpochDay.getDayOfWeek(epochDay));
+            day.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    public void toCalendarShouldReturnMidnightInTheGivenTimeZone() {
+        TimeZone timeZone = TimeZone.getTimeZone("America/Los_Angeles");
+        Calendar day = EpochDay.toCalendar(EpochDay.of(2017, Calendar.APRIL, 14), timeZone);
+
+        Assert.assertEquals(timeZone, day.getTimeZone());
+        Assert.assertEquals(2017, day.get(Calendar.YEAR));
+        Assert.assertEquals(Calendar.APRIL, day.get(Calendar.MONTH));
+        Assert.assertEquals(14, day.get(Calendar.DAY_OF_MONTH));
+        Assert.assertEquals(0, day.get(Calendar.HOUR_OF_DAY));
+        Assert.assertEquals(0, day.get(Calendar.MINUTE));
+        Assert.assertEquals(0, day.get(Calendar.SECOND));
+        Assert.assertEquals(0, day.get(Calendar.MILLISECOND));
+    }
+}
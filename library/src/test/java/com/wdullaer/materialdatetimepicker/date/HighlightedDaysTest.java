@@ -0,0 +1,110 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Unit tests for the epoch day keyed store of highlighted days
+ */
+public class HighlightedDaysTest {
+    @Test
+    public void emptyStoreShouldNotContainAnything() {
+        HighlightedDays highlights = new HighlightedDays();
+
+        Assert.assertTrue(highlights.isEmpty());
+        Assert.assertFalse(highlights.contains(0));
+        Assert.assertEquals(0, highlights.get(0));
+        Assert.assertArrayEquals(new int[0], highlights.getDays());
+    }
+
+    @Test
+    public void addAllShouldKeepTheDaysSortedAndWithoutDuplicates() {
+        HighlightedDays highlights = new HighlightedDays();
+        highlights.addAll(new int[]{50, -3, 10, 50}, HighlightedDays.DEFAULT_CATEGORY);
+        highlights.addAll(new int[]{20, 10, 0}, HighlightedDays.DEFAULT_CATEGORY);
+
+        Assert.assertArrayEquals(new int[]{-3, 0, 10, 20, 50}, highlights.getDays());
+        Assert.assertEquals(5, highlights.size());
+        Assert.assertTrue(highlights.contains(-3));
+        Assert.assertFalse(highlights.contains(11));
+    }
+
+    @Test
+    public void daysShouldBeInEveryCategoryTheyWereAddedTo() {
+        HighlightedDays highlights = new HighlightedDays();
+        int red = highlights.getCategory(0xFFFF0000);
+        int blue = highlights.getCategory(0xFF0000FF);
+        highlights.addAll(new int[]{1, 2}, HighlightedDays.DEFAULT_CATEGORY);
+        highlights.addAll(new int[]{2, 3}, red);
+        highlights.addAll(new int[]{3}, blue);
+
+        Assert.assertEquals(1, highlights.get(1));
+        Assert.assertEquals(1 | 1 << red, highlights.get(2));
+        Assert.assertEquals(1 << red | 1 << blue, highlights.get(3));
+        Assert.assertEquals(0xFFFF0000, highlights.getColor(red));
+        Assert.assertEquals(0xFF0000FF, highlights.getColor(blue));
+    }
+
+    @Test
+    public void getCategoryShouldReuseCategoriesWithTheSameColor() {
+        HighlightedDays highlights = new HighlightedDays();
+        int first = highlights.getCategory(0xFF00FF00);
+        int second = highlights.getCategory(0xFF00FF00);
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(2, highlights.getCategoryCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getCategoryShouldThrowWhenThereAreTooManyColors() {
+        HighlightedDays highlights = new HighlightedDays();
+        for (int color = 0; color < HighlightedDays.MAX_CATEGORIES; color++) highlights.getCategory(color);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addAllShouldThrowForUnknownCategories() {
+        new HighlightedDays().addAll(new int[]{1}, 1);
+    }
+
+    @Test
+    public void getMonthShouldReturnTheCategoriesOfEveryDayInTheMonth() {
+        HighlightedDays highlights = new HighlightedDays();
+        int red = highlights.getCategory(0xFFFF0000);
+        int lastOfJanuary = EpochDay.of(2020, Calendar.JANUARY, 31);
+        int firstOfFebruary = EpochDay.of(2020, Calendar.FEBRUARY, 1);
+        int leapDay = EpochDay.of(2020, Calendar.FEBRUARY, 29);
+        int firstOfMarch = EpochDay.of(2020, Calendar.MARCH, 1);
+        highlights.addAll(new int[]{lastOfJanuary, firstOfFebruary, leapDay, firstOfMarch}, HighlightedDays.DEFAULT_CATEGORY);
+        highlights.addAll(new int[]{leapDay}, red);
+
+        int[] output = new int[31];
+        Arrays.fill(output, -1);
+        highlights.getMonth(2020, Calendar.FEBRUARY, output);
+
+        Assert.assertEquals(1, output[0]);
+        for (int i = 1; i < 28; i++) Assert.assertEquals(0, output[i]);
+        Assert.assertEquals(1 | 1 << red, output[28]);
+        // Entries past the end of the month are left untouched
+        Assert.assertEquals(-1, output[29]);
+    }
+
+    @Test
+    public void readFromShouldRestoreWhatWasWritten() {
+        HighlightedDays highlights = new HighlightedDays();
+        int red = highlights.getCategory(0xFFFF0000);
+        highlights.addAll(new int[]{-5, 5, 6, 7}, HighlightedDays.DEFAULT_CATEGORY);
+        highlights.addAll(new int[]{7, 9}, red);
+
+        EpochDayCodec.Writer writer = new EpochDayCodec.Writer();
+        highlights.writeTo(writer);
+        HighlightedDays restored = HighlightedDays.readFrom(new EpochDayCodec.Reader(writer.toByteArray()));
+
+        Assert.assertArrayEquals(highlights.getDays(), restored.getDays());
+        for (int day = -5; day <= 9; day++) Assert.assertEquals(highlights.get(day), restored.get(day));
+        Assert.assertEquals(0xFFFF0000, restored.getColor(red));
+        Assert.assertEquals(red, restored.getCategory(0xFFFF0000));
+    }
+}
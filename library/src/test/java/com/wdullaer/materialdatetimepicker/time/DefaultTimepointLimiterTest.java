@@ -850,4 +850,69 @@ public class DefaultTimepointLimiterTest {
         Assert.assertEquals(limiter.roundToNearest(input, null, Timepoint.TYPE.MINUTE), expected);
         Assert.assertEquals(limiter.roundToNearest(input, null, Timepoint.TYPE.HOUR), expected2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void roundToNearestShouldSkipALargeDisabledBlockAtSecondResolution() {
+        Timepoint[] disabledTimes = new Timepoint[10 * 3600];
+        for (int i = 0; i < disabledTimes.length; i++) {
+            disabledTimes[i] = new Timepoint(8 + i / 3600, (i % 3600) / 60, i % 60);
+        }
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+        limiter.setDisabledTimes(disabledTimes);
+
+        Assert.assertEquals(new Timepoint(7, 59, 59), limiter.roundToNearest(new Timepoint(9), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(18), limiter.roundToNearest(new Timepoint(17), null, Timepoint.TYPE.SECOND));
+        // The hour cannot change, so the input is returned
+        Assert.assertEquals(new Timepoint(12), limiter.roundToNearest(new Timepoint(12), Timepoint.TYPE.HOUR, Timepoint.TYPE.SECOND));
+    }
+
+    @Test
+    public void roundToNearestShouldNotStepBackwardsPastMidnight() {
+        Timepoint[] disabledTimes = new Timepoint[6];
+        for (int i = 0; i < disabledTimes.length; i++) disabledTimes[i] = new Timepoint(0, i);
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+        limiter.setDisabledTimes(disabledTimes);
+
+        Assert.assertEquals(new Timepoint(0, 6), limiter.roundToNearest(new Timepoint(0), null, Timepoint.TYPE.MINUTE));
+    }
+
+    @Test
+    public void timeIntervalShouldComposeWithSelectableAndDisabledTimes() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+        limiter.setTimeInterval(1, 15, 60);
+        limiter.setSelectableTimes(new Timepoint[]{new Timepoint(10, 10)});
+        limiter.setDisabledTimes(new Timepoint[]{new Timepoint(10, 15)});
+
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(10, 0)));
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(10, 10)));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(10, 15)));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(10, 20)));
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(10, 30)));
+        Assert.assertEquals(new Timepoint(10, 10), limiter.roundToNearest(new Timepoint(10, 14), null, Timepoint.TYPE.MINUTE));
+        Assert.assertEquals(new Timepoint(10, 30), limiter.roundToNearest(new Timepoint(10, 25), null, Timepoint.TYPE.MINUTE));
+    }
+
+    @Test
+    public void timeIntervalShouldSkipADayLongDisabledBlock() {
+        // Disable every second of the day except 00:00:00 and 23:30:00
+        Timepoint[] disabledTimes = new Timepoint[TimepointSet.SECONDS_PER_DAY - 2];
+        int i = 0;
+        for (int second = 1; second < TimepointSet.SECONDS_PER_DAY; second++) {
+            if (second == 23 * 3600 + 30 * 60) continue;
+            disabledTimes[i++] = new Timepoint(second / 3600, (second % 3600) / 60, second % 60);
+        }
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+        limiter.setTimeInterval(1, 1, 1);
+        limiter.setDisabledTimes(disabledTimes);
+
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(0), HOUR_INDEX, Timepoint.TYPE.SECOND));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(12), HOUR_INDEX, Timepoint.TYPE.SECOND));
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(23), HOUR_INDEX, Timepoint.TYPE.SECOND));
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(23, 30), MINUTE_INDEX, Timepoint.TYPE.SECOND));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(23, 31), MINUTE_INDEX, Timepoint.TYPE.SECOND));
+        Assert.assertFalse(limiter.isAmDisabled());
+        Assert.assertFalse(limiter.isPmDisabled());
+        Assert.assertEquals(new Timepoint(0), limiter.roundToNearest(new Timepoint(8), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(23, 30), limiter.roundToNearest(new Timepoint(16), null, Timepoint.TYPE.SECOND));
+    }
+}
@@ -0,0 +1,78 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.wdullaer.materialdatetimepicker.time.KeyboardTimeGrammar.AM_PM;
+
+/**
+ * Unit tests for the compiled grammar of the keyboard mode of the TimePickerDialog
+ */
+public class KeyboardTimeGrammarTest {
+    private static boolean accepts(KeyboardTimeGrammar grammar, int... symbols) {
+        int state = KeyboardTimeGrammar.START;
+        for (int symbol : symbols) {
+            state = grammar.next(state, symbol);
+            if (state == KeyboardTimeGrammar.ILLEGAL) return false;
+        }
+        return true;
+    }
+
+    @Test
+    public void twentyFourHourModeShouldAcceptValidTimes() {
+        KeyboardTimeGrammar grammar = KeyboardTimeGrammar.get(true, true, false);
+
+        Assert.assertTrue(accepts(grammar, 2, 3, 5, 9));
+        Assert.assertTrue(accepts(grammar, 0, 9, 3, 0));
+        Assert.assertTrue(accepts(grammar, 8, 1, 2));
+        Assert.assertTrue(accepts(grammar, 2, 4, 5));
+        Assert.assertFalse(accepts(grammar, 2, 6));
+        Assert.assertFalse(accepts(grammar, 1, 2, 6, 0));
+        Assert.assertFalse(accepts(grammar, 2, 3, 5, 9, 0));
+        Assert.assertFalse(accepts(grammar, 1, AM_PM));
+    }
+
+    @Test
+    public void secondsShouldOnlyBeAcceptedWhenEnabled() {
+        Assert.assertTrue(accepts(KeyboardTimeGrammar.get(true, true, true), 2, 3, 5, 9, 5, 9));
+        Assert.assertFalse(accepts(KeyboardTimeGrammar.get(true, true, false), 2, 3, 5, 9, 5));
+        Assert.assertTrue(accepts(KeyboardTimeGrammar.get(false, true, true), 1, 2, 4, 0, 5, 9, AM_PM));
+        Assert.assertFalse(accepts(KeyboardTimeGrammar.get(false, true, false), 1, 2, 4, 0, 5));
+    }
+
+    @Test
+    public void amPmModeShouldRequireAnAmPmKeyAtTheEnd() {
+        KeyboardTimeGrammar grammar = KeyboardTimeGrammar.get(false, true, false);
+
+        Assert.assertTrue(accepts(grammar, 1, AM_PM));
+        Assert.assertTrue(accepts(grammar, 1, 2, AM_PM));
+        Assert.assertTrue(accepts(grammar, 9, 3, 0, AM_PM));
+        Assert.assertFalse(accepts(grammar, 1, 3, AM_PM));
+        Assert.assertFalse(accepts(grammar, 0));
+        Assert.assertFalse(accepts(grammar, 1, 2, AM_PM, 5));
+    }
+
+    @Test
+    public void hourOnlyGrammarsShouldIgnoreSeconds() {
+        Assert.assertSame(KeyboardTimeGrammar.get(true, false, false), KeyboardTimeGrammar.get(true, false, true));
+
+        KeyboardTimeGrammar grammar = KeyboardTimeGrammar.get(true, false, false);
+        Assert.assertTrue(accepts(grammar, 2, 3));
+        Assert.assertFalse(accepts(grammar, 2, 4));
+        Assert.assertFalse(accepts(grammar, 1, 2, 0));
+
+        grammar = KeyboardTimeGrammar.get(false, false, false);
+        Assert.assertTrue(accepts(grammar, 1, 1, AM_PM));
+        Assert.assertFalse(accepts(grammar, 1, 3));
+    }
+
+    @Test
+    public void unknownSymbolsShouldBeIllegal() {
+        KeyboardTimeGrammar grammar = KeyboardTimeGrammar.get(true, true, true);
+
+        Assert.assertEquals(KeyboardTimeGrammar.ILLEGAL, grammar.next(KeyboardTimeGrammar.START, -1));
+        Assert.assertEquals(KeyboardTimeGrammar.ILLEGAL, grammar.next(KeyboardTimeGrammar.START, KeyboardTimeGrammar.SYMBOL_COUNT));
+        Assert.assertEquals(KeyboardTimeGrammar.ILLEGAL, grammar.next(KeyboardTimeGrammar.ILLEGAL, 1));
+        Assert.assertSame(grammar, KeyboardTimeGrammar.get(true, true, true));
+    }
+}
@@ -0,0 +1,66 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the trigonometry lookup tables of the radial dials
+ */
+public class RadialMathTest {
+    // The angle of a touch as RadialSelectorView used to calculate it
+    private static int getDegreesWithAsin(float dx, float dy) {
+        double hypotenuse = Math.sqrt(dy * dy + dx * dx);
+        int degrees = (int) (Math.asin(Math.abs(dy) / hypotenuse) * 180 / Math.PI);
+        boolean rightSide = dx > 0;
+        boolean topSide = dy < 0;
+        if (rightSide && topSide) return 90 - degrees;
+        if (rightSide) return 90 + degrees;
+        if (!topSide) return 270 - degrees;
+        return 270 + degrees;
+    }
+
+    @Test
+    public void sinAndCosShouldMatchMath() {
+        for (int degrees = -360; degrees <= 720; degrees++) {
+            double radians = Math.toRadians(degrees);
+            Assert.assertEquals(Math.sin(radians), RadialMath.sin(degrees) / (double) RadialMath.FIXED_POINT_ONE, 1e-4);
+            Assert.assertEquals(Math.cos(radians), RadialMath.cos(degrees) / (double) RadialMath.FIXED_POINT_ONE, 1e-4);
+        }
+    }
+
+    @Test
+    public void scaleShouldRoundTowardsZero() {
+        Assert.assertEquals(100, RadialMath.scale(100, RadialMath.sin(90)));
+        Assert.assertEquals(-100, RadialMath.scale(100, RadialMath.sin(270)));
+        Assert.assertEquals(49, RadialMath.scale(99, RadialMath.sin(30)));
+        Assert.assertEquals(-49, RadialMath.scale(99, RadialMath.sin(210)));
+    }
+
+    @Test
+    public void getDegreesShouldReturnTheAxes() {
+        // 12 o'clock is reported as 360, the pickers treat it the same as 0
+        Assert.assertEquals(360, RadialMath.getDegrees(0, -100));
+        Assert.assertEquals(90, RadialMath.getDegrees(100, 0));
+        Assert.assertEquals(180, RadialMath.getDegrees(0, 100));
+        Assert.assertEquals(270, RadialMath.getDegrees(-100, 0));
+        Assert.assertEquals(270, RadialMath.getDegrees(0, 0));
+    }
+
+    @Test
+    public void getDegreesShouldMatchAsin() {
+        for (int dx = -300; dx <= 300; dx++) {
+            for (int dy = -300; dy <= 300; dy++) {
+                if (dx == 0 && dy == 0) continue;
+                int expected = getDegreesWithAsin(dx, dy);
+                int actual = RadialMath.getDegrees(dx, dy);
+                // Both truncate, so points that sit exactly on a whole degree may land either side
+                Assert.assertTrue(dx + "," + dy, Math.abs(expected - actual) <= 1);
+            }
+        }
+    }
+
+    @Test
+    public void cos30ShouldMatchMath() {
+        Assert.assertEquals(Math.sqrt(3) / 2, RadialMath.COS_30, 1e-7);
+    }
+}
@@ -0,0 +1,46 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the arithmetic Timepoint interval rule
+ */
+public class TimepointIntervalTest {
+    @Test
+    public void containsShouldOnlyMatchMultiplesOfTheIntervals() {
+        TimepointInterval interval = new TimepointInterval(3, 15, 30);
+
+        Assert.assertTrue(interval.contains(new Timepoint(0).toSeconds()));
+        Assert.assertTrue(interval.contains(new Timepoint(21, 45, 30).toSeconds()));
+        Assert.assertFalse(interval.contains(new Timepoint(22, 45, 30).toSeconds()));
+        Assert.assertFalse(interval.contains(new Timepoint(21, 40, 30).toSeconds()));
+        Assert.assertFalse(interval.contains(new Timepoint(21, 45, 31).toSeconds()));
+    }
+
+    @Test
+    public void ceilingShouldCarryIntoTheNextMatchingMinuteAndHour() {
+        TimepointInterval interval = new TimepointInterval(3, 15, 30);
+
+        Assert.assertEquals(new Timepoint(3, 15, 30).toSeconds(), interval.ceiling(new Timepoint(3, 15, 1).toSeconds()));
+        Assert.assertEquals(new Timepoint(3, 30).toSeconds(), interval.ceiling(new Timepoint(3, 15, 31).toSeconds()));
+        Assert.assertEquals(new Timepoint(6).toSeconds(), interval.ceiling(new Timepoint(3, 45, 31).toSeconds()));
+        Assert.assertEquals(new Timepoint(6).toSeconds(), interval.ceiling(new Timepoint(4, 10).toSeconds()));
+        Assert.assertEquals(TimepointSet.NONE, interval.ceiling(new Timepoint(21, 45, 31).toSeconds()));
+    }
+
+    @Test
+    public void floorShouldRoundDownToTheLastMatchingTime() {
+        TimepointInterval interval = new TimepointInterval(3, 15, 30);
+
+        Assert.assertEquals(new Timepoint(3, 15, 30).toSeconds(), interval.floor(new Timepoint(3, 15, 59).toSeconds()));
+        Assert.assertEquals(new Timepoint(3, 0, 30).toSeconds(), interval.floor(new Timepoint(3, 14, 59).toSeconds()));
+        Assert.assertEquals(new Timepoint(3, 45, 30).toSeconds(), interval.floor(new Timepoint(5, 59, 59).toSeconds()));
+        Assert.assertEquals(0, interval.floor(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorShouldThrowOnAnInvalidInterval() {
+        new TimepointInterval(1, 0, 60);
+    }
+}
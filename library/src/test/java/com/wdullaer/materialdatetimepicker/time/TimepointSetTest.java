@@ -0,0 +1,75 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the bitset backed set of Timepoints
+ */
+public class TimepointSetTest {
+    @Test
+    public void emptySetShouldNotContainAnything() {
+        TimepointSet set = new TimepointSet();
+
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertFalse(set.contains(0));
+        Assert.assertFalse(set.containsHour(0));
+        Assert.assertFalse(set.containsMinute(0, 0));
+        Assert.assertEquals(TimepointSet.NONE, set.first());
+        Assert.assertEquals(TimepointSet.NONE, set.last());
+    }
+
+    @Test
+    public void summariesShouldTrackTheHoursAndMinutesOfAddedTimes() {
+        TimepointSet set = new TimepointSet();
+        set.add(new Timepoint(13, 45, 30).toSeconds());
+
+        Assert.assertTrue(set.containsHour(13));
+        Assert.assertFalse(set.containsHour(12));
+        Assert.assertTrue(set.containsMinute(13, 45));
+        Assert.assertFalse(set.containsMinute(13, 46));
+        Assert.assertTrue(set.contains(new Timepoint(13, 45, 10).toSeconds(), Timepoint.TYPE.MINUTE));
+        Assert.assertFalse(set.contains(new Timepoint(13, 45, 10).toSeconds(), Timepoint.TYPE.SECOND));
+    }
+
+    @Test
+    public void ceilingAndFloorShouldFindTheNearestTimes() {
+        TimepointSet set = new TimepointSet();
+        set.add(new Timepoint(1, 0, 59).toSeconds());
+        set.add(new Timepoint(22, 30).toSeconds());
+
+        Assert.assertEquals(new Timepoint(1, 0, 59).toSeconds(), set.ceiling(0));
+        Assert.assertEquals(new Timepoint(22, 30).toSeconds(), set.ceiling(new Timepoint(1, 1).toSeconds()));
+        Assert.assertEquals(new Timepoint(1, 0, 59).toSeconds(), set.floor(new Timepoint(22, 29, 59).toSeconds()));
+        Assert.assertEquals(TimepointSet.NONE, set.floor(new Timepoint(1, 0, 58).toSeconds()));
+        Assert.assertEquals(TimepointSet.NONE, set.ceiling(new Timepoint(22, 30, 1).toSeconds()));
+        Assert.assertEquals(new Timepoint(22, 30).toSeconds(), set.last());
+    }
+
+    @Test
+    public void removeAllShouldUpdateTheSummaries() {
+        TimepointSet set = new TimepointSet();
+        set.add(new Timepoint(8, 15).toSeconds());
+        set.add(new Timepoint(9, 15).toSeconds());
+        TimepointSet other = new TimepointSet();
+        other.add(new Timepoint(8, 15).toSeconds());
+
+        set.removeAll(other);
+
+        Assert.assertEquals(1, set.size());
+        Assert.assertFalse(set.containsHour(8));
+        Assert.assertFalse(set.containsMinute(8, 15));
+        Assert.assertTrue(set.containsHour(9));
+    }
+
+    @Test
+    public void toArrayShouldReturnSortedTimepoints() {
+        TimepointSet set = new TimepointSet();
+        set.addAll(new Timepoint[]{new Timepoint(23, 59, 59), new Timepoint(0), new Timepoint(12, 1, 2)});
+
+        Assert.assertArrayEquals(
+                new Timepoint[]{new Timepoint(0), new Timepoint(12, 1, 2), new Timepoint(23, 59, 59)},
+                set.toArray()
+        );
+    }
+}